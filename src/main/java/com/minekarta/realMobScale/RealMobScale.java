@@ -10,6 +10,13 @@ import com.minekarta.realMobScale.managers.ConfigManager;
 import com.minekarta.realMobScale.managers.PlayerPreferencesManager;
 import com.minekarta.realMobScale.managers.BiomeScalingManager;
 import com.minekarta.realMobScale.managers.DebugManager;
+import com.minekarta.realMobScale.managers.ScalingQueueManager;
+import com.minekarta.realMobScale.managers.ChunkScaleIndex;
+import com.minekarta.realMobScale.managers.SpawnerDecisionCache;
+import com.minekarta.realMobScale.managers.GrowthTracker;
+import com.minekarta.realMobScale.managers.ConfigReloader;
+import com.minekarta.realMobScale.managers.ConfigFileWatcher;
+import com.minekarta.realMobScale.managers.SpeciesManager;
 import com.minekarta.realMobScale.events.MobSpawnListener;
 import com.minekarta.realMobScale.commands.ScaleCommand;
 import com.minekarta.realMobScale.commands.PreferencesCommand;
@@ -21,9 +28,16 @@ public class RealMobScale extends JavaPlugin implements Listener {
     private static RealMobScale instance;
     private MobScaleManager mobScaleManager;
     private ConfigManager configManager;
+    private SpeciesManager speciesManager;
     private PlayerPreferencesManager playerPreferencesManager;
     private BiomeScalingManager biomeScalingManager;
     private DebugManager debugManager;
+    private ScalingQueueManager scalingQueueManager;
+    private ChunkScaleIndex chunkScaleIndex;
+    private SpawnerDecisionCache spawnerDecisionCache;
+    private GrowthTracker growthTracker;
+    private ConfigReloader configReloader;
+    private ConfigFileWatcher configFileWatcher;
     private EntityMetadataPacketHandler metadataHandler;
     private EntitySpawnPacketHandler spawnHandler;
     
@@ -41,12 +55,19 @@ public class RealMobScale extends JavaPlugin implements Listener {
             return;
         }
 
-        // Initialize managers
+        // Initialize managers; species profiles first, the config compiles against them
+        this.speciesManager = new SpeciesManager(this);
         this.configManager = new ConfigManager(this);
         this.mobScaleManager = new MobScaleManager();
         this.playerPreferencesManager = new PlayerPreferencesManager(this);
         this.biomeScalingManager = new BiomeScalingManager(this, configManager);
         this.debugManager = new DebugManager();
+        this.scalingQueueManager = new ScalingQueueManager(this, configManager);
+        this.chunkScaleIndex = new ChunkScaleIndex(configManager);
+        this.spawnerDecisionCache = new SpawnerDecisionCache(configManager);
+        this.growthTracker = new GrowthTracker(this, configManager);
+        this.configReloader = new ConfigReloader(this);
+        this.configFileWatcher = new ConfigFileWatcher(this, configManager);
 
         // Initialize packet handlers
         this.metadataHandler = new EntityMetadataPacketHandler(this);
@@ -63,6 +84,22 @@ public class RealMobScale extends JavaPlugin implements Listener {
         Bukkit.getPluginManager().registerEvents(new MobSpawnListener(), this);
         Bukkit.getPluginManager().registerEvents(this, this);
 
+        // Start the tick-budgeted scaling queue
+        scalingQueueManager.start();
+        growthTracker.start();
+        configFileWatcher.start();
+        if (configManager.applyToExisting()) {
+            mobScaleManager.applyScalingToExistingEntities();
+        }
+        // Folia has no thread-safe loaded chunk list, so pick up chunks loaded before enable
+        chunkScaleIndex.seedLoadedChunks(this, configManager.applyToExisting()
+                ? chunk -> {
+                    if (configManager.isWorldEnabled(chunk.getWorld())) {
+                        scalingQueueManager.enqueueChunk(chunk);
+                    }
+                }
+                : null);
+
         // Register commands
         getCommand("realmobscale").setExecutor(new ScaleCommand());
         getCommand("prefs").setExecutor(new PreferencesCommand());
@@ -76,6 +113,21 @@ public class RealMobScale extends JavaPlugin implements Listener {
   
     @Override
     public void onDisable() {
+        // Stop the scaling queue
+        if (scalingQueueManager != null) {
+            scalingQueueManager.stop();
+        }
+
+        // Stop the growth tracker
+        if (growthTracker != null) {
+            growthTracker.stop();
+        }
+
+        // Stop watching the config files
+        if (configFileWatcher != null) {
+            configFileWatcher.stop();
+        }
+
         // Save player preferences
         if (playerPreferencesManager != null) {
             playerPreferencesManager.savePreferences();
@@ -105,6 +157,10 @@ public class RealMobScale extends JavaPlugin implements Listener {
         return configManager;
     }
 
+    public SpeciesManager getSpeciesManager() {
+        return speciesManager;
+    }
+
     public EntityMetadataPacketHandler getMetadataHandler() {
         return metadataHandler;
     }
@@ -121,6 +177,30 @@ public class RealMobScale extends JavaPlugin implements Listener {
         return debugManager;
     }
 
+    public ScalingQueueManager getScalingQueueManager() {
+        return scalingQueueManager;
+    }
+
+    public ChunkScaleIndex getChunkScaleIndex() {
+        return chunkScaleIndex;
+    }
+
+    public SpawnerDecisionCache getSpawnerDecisionCache() {
+        return spawnerDecisionCache;
+    }
+
+    public GrowthTracker getGrowthTracker() {
+        return growthTracker;
+    }
+
+    public ConfigReloader getConfigReloader() {
+        return configReloader;
+    }
+
+    public ConfigFileWatcher getConfigFileWatcher() {
+        return configFileWatcher;
+    }
+
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         // Remove player from debug mode when they leave
@@ -1,12 +1,25 @@
 package com.minekarta.realMobScale.commands;
 
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import com.minekarta.realMobScale.RealMobScale;
-import com.minekarta.realMobScale.events.MobScaleConfigReloadEvent;
+import com.minekarta.realMobScale.data.MobData;
+import com.minekarta.realMobScale.managers.ChunkScaleIndex;
+import com.minekarta.realMobScale.managers.ConfigDiff;
+import com.minekarta.realMobScale.managers.ConfigManager;
+import com.minekarta.realMobScale.managers.DebugManager;
+import com.minekarta.realMobScale.managers.DecisionWorkerPool;
+import com.minekarta.realMobScale.managers.GrowthTracker;
+import com.minekarta.realMobScale.managers.MobScaleManager;
+import com.minekarta.realMobScale.managers.ScalingQueueManager;
+import com.minekarta.realMobScale.managers.SpawnerDecisionCache;
+import com.minekarta.realMobScale.managers.TickBudgetController;
+import com.minekarta.realMobScale.utils.FoliaScheduler;
 import com.minekarta.realMobScale.utils.TabCompletionUtils;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -27,34 +40,36 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
 
-                // Store old settings for comparison
-                Map<String, Object> oldSettings = new HashMap<>();
-                Map<String, Object> newSettings = new HashMap<>();
-
-                // Capture some key settings that might have changed
-                oldSettings.put("enabled", RealMobScale.getInstance().getConfigManager().isEnabled());
-                oldSettings.put("debug", RealMobScale.getInstance().getConfigManager().isDebug());
-
-                // Reload configuration
-                RealMobScale.getInstance().getConfigManager().reloadConfig();
-                RealMobScale.getInstance().getBiomeScalingManager().reloadBiomeConfig();
-
-                // Capture new settings
-                newSettings.put("enabled", RealMobScale.getInstance().getConfigManager().isEnabled());
-                newSettings.put("debug", RealMobScale.getInstance().getConfigManager().isDebug());
-
-                // Fire configuration reload event
-                MobScaleConfigReloadEvent reloadEvent = new MobScaleConfigReloadEvent(
-                    sender instanceof Player ? ((Player) sender).getName() : "CONSOLE",
-                    newSettings
-                );
-                RealMobScale.getInstance().getServer().getPluginManager().callEvent(reloadEvent);
-
-                sender.sendMessage("§aRealMobScale configuration reloaded!");
-                sender.sendMessage("§7Biome configurations: §f" + RealMobScale.getInstance().getBiomeScalingManager().getConfiguredBiomeCount() + " biomes");
-                if (RealMobScale.getInstance().getConfigManager().isDebugMode()) {
-                    sender.sendMessage("§7Debug mode: §f" + (RealMobScale.getInstance().getConfigManager().isDebug() ? "enabled" : "disabled"));
-                }
+                RealMobScale plugin = RealMobScale.getInstance();
+                String reloadedBy = sender instanceof Player ? ((Player) sender).getName() : "CONSOLE";
+
+                // Files are parsed and validated off the main thread, then published in one step
+                boolean started = plugin.getConfigReloader().reload(reloadedBy, result -> {
+                    if (!result.isPublished()) {
+                        sender.sendMessage("§cRealMobScale configuration was not reloaded, the current settings stay active.");
+                        result.getReport().sendTo(sender, 10);
+                        return;
+                    }
+
+                    ConfigDiff diff = result.getDiff();
+                    sender.sendMessage("§aRealMobScale configuration reloaded!");
+                    result.getReport().sendTo(sender, 10);
+                    sender.sendMessage("§7Biome configurations: §f" + plugin.getBiomeScalingManager().getConfiguredBiomeCount() + " biomes");
+                    sender.sendMessage("§7Species profiles: §f" + MobData.getProfileCount() + " species");
+                    if (diff.isEmpty()) {
+                        sender.sendMessage("§7No scaling settings changed.");
+                    } else {
+                        sender.sendMessage("§7Changed: §f" + diff.getChangedGlobals().size() + " global settings, " +
+                            diff.getChangedTypes().size() + " mob types, " + diff.getChangedBiomes().size() + " biomes, " +
+                            (diff.getEnabledWorlds().size() + diff.getDisabledWorlds().size()) + " worlds, " +
+                            diff.getChangedOverlays().size() + " world overlays");
+                        sender.sendMessage("§7Rescaling affected entities in §f" + result.getRescaleChunks() + " §7loaded chunks over the next ticks");
+                    }
+                    if (plugin.getConfigManager().isDebugMode()) {
+                        sender.sendMessage("§7Debug mode: §f" + (plugin.getConfigManager().isDebug() ? "enabled" : "disabled"));
+                    }
+                });
+                sender.sendMessage(started ? "§7Reloading RealMobScale configuration..." : "§cA reload is already in progress.");
                 break;
 
             case "info":
@@ -77,6 +92,14 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
                 sendStatistics(sender);
                 break;
 
+            case "performance":
+                if (!sender.hasPermission("realmobscale.admin")) {
+                    sender.sendMessage("§cYou don't have permission to use this command!");
+                    return true;
+                }
+                handlePerformanceCommand(sender, args);
+                break;
+
             case "debug":
                 if (!sender.hasPermission("realmobscale.debug")) {
                     sender.sendMessage("§cYou don't have permission to use this command!");
@@ -114,6 +137,7 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("§7  - apply all §7- Apply to all existing entities");
         sender.sendMessage("§7  - apply world <world> §7- Apply to specific world");
         sender.sendMessage("§7  - apply radius <blocks> §7- Apply in radius");
+        sender.sendMessage("§f/realmobscale performance [on|off] §7- Toggle the lean scaling pipeline");
 
         if (sender.hasPermission("realmobscale.debug")) {
             sender.sendMessage("§f/realmobscale debug §7- Toggle debug mode");
@@ -148,10 +172,8 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
 
         switch (target) {
             case "all":
-                sender.sendMessage("§6Applying scaling to all existing entities...");
-                RealMobScale.getInstance().getMobScaleManager().applyScalingToExistingEntities();
-                long allTime = System.currentTimeMillis() - startTime;
-                sender.sendMessage("§aApplied scaling to all entities! §7(Took " + allTime + "ms)");
+                int allChunks = RealMobScale.getInstance().getMobScaleManager().applyScalingToExistingEntities();
+                sender.sendMessage("§aQueued " + allChunks + " loaded chunks for scaling! §7(Processed over the next ticks)");
                 break;
 
             case "world":
@@ -160,13 +182,13 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
                     return;
                 }
                 String worldName = args[2];
-                sender.sendMessage("§6Applying scaling to entities in world '" + worldName + "'...");
-                int worldCount = RealMobScale.getInstance().getMobScaleManager().applyScalingToWorld(worldName);
-                long worldTime = System.currentTimeMillis() - startTime;
-                if (worldCount > 0) {
-                    sender.sendMessage("§aApplied scaling to " + worldCount + " entities in '" + worldName + "'! §7(Took " + worldTime + "ms)");
+                int worldChunks = RealMobScale.getInstance().getMobScaleManager().applyScalingToWorld(worldName);
+                if (worldChunks > 0) {
+                    sender.sendMessage("§aQueued " + worldChunks + " chunks in '" + worldName + "' for scaling! §7(Processed over the next ticks)");
+                } else if (worldChunks < 0) {
+                    sender.sendMessage("§cWorld '" + worldName + "' does not exist.");
                 } else {
-                    sender.sendMessage("§cNo entities were scaled. Check if the world exists or has living entities.");
+                    sender.sendMessage("§cNo chunks were queued. Check if the world is enabled and has loaded chunks.");
                 }
                 break;
 
@@ -187,8 +209,15 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
                     }
 
                     Player player = (Player) sender;
-                    org.bukkit.Location center = player.getLocation();
+                    Location center = player.getLocation();
                     sender.sendMessage("§6Applying scaling to entities within " + radius + " blocks...");
+                    if (FoliaScheduler.isFolia()) {
+                        // Entities may belong to other regions, so hand each chunk to its owner
+                        int radiusChunks = RealMobScale.getInstance().getMobScaleManager().queueScalingInRadius(center, radius);
+                        sender.sendMessage("§aQueued " + radiusChunks + " chunks within radius for scaling.");
+                        break;
+                    }
+
                     int radiusCount = RealMobScale.getInstance().getMobScaleManager().applyScalingInRadius(center, radius);
                     long radiusTime = System.currentTimeMillis() - startTime;
                     if (radiusCount > 0) {
@@ -208,14 +237,67 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
     }
 
     private void sendStatistics(CommandSender sender) {
-        com.minekarta.realMobScale.managers.MobScaleManager.ScalingStatistics stats =
+        MobScaleManager.ScalingStatistics stats =
             RealMobScale.getInstance().getMobScaleManager().getScalingStatistics();
 
         sender.sendMessage("§6=== RealMobScale Statistics ===");
         sender.sendMessage("§fWorlds Checked: §7" + stats.getWorldsChecked());
-        sender.sendMessage("§fTotal Entities: §7" + stats.getTotalEntities());
-        sender.sendMessage("§fScaled Entities: §a" + stats.getScaledEntities());
-        sender.sendMessage("§fScaling Percentage: §e" + String.format("%.1f", stats.getScalingPercentage()) + "%");
+        if (stats.getTotalEntities() >= 0) {
+            sender.sendMessage("§fTotal Entities: §7" + stats.getTotalEntities());
+            sender.sendMessage("§fScaled Entities: §a" + stats.getScaledEntities());
+            sender.sendMessage("§fScaling Percentage: §e" + String.format("%.1f", stats.getScalingPercentage()) + "%");
+        } else {
+            // Folia: only the tracked scaled count is available
+            sender.sendMessage("§fScaled Entities (loaded): §a" + stats.getScaledEntities());
+        }
+
+        ScalingQueueManager queue =
+            RealMobScale.getInstance().getScalingQueueManager();
+        sender.sendMessage("§fQueue Depth: §7" + queue.getQueueDepth() + " §8(peak " + queue.getPeakDepth() + ")" +
+            " §8| §fPending Chunks: §7" + queue.getPendingChunkCount());
+        sender.sendMessage("§fDeferred: §7" + queue.getLastDeferred() + " last drain §8/ §7" + queue.getTotalDeferred() + " total");
+        sender.sendMessage("§fInstant: §7" + queue.getTotalInstant() + " §8| §fProcessed: §7" + queue.getTotalProcessed() + " §8| §fRejected: §7" + queue.getTotalRejected() +
+            " §8| §fDuplicates: §7" + queue.getTotalDuplicates());
+        sender.sendMessage("§fLast Drain: §7" + String.format("%.3f", queue.getLastDrainNanos() / 1_000_000.0) + "ms");
+
+        TickBudgetController budget = queue.getBudgetController();
+        sender.sendMessage("§fAdaptive Budget: §e" + String.format("%.0f", budget.getBudgetFactor() * 100) + "%" +
+            " §8(" + budget.getEntityBudget() + " entities, " +
+            String.format("%.2f", budget.getNanosBudget() / 1_000_000.0) + "ms per drain)");
+        sender.sendMessage("§fMSPT: §7" + String.format("%.1f", budget.getLastAverageMspt()) + "ms avg, " +
+            String.format("%.1f", budget.getLastTickMspt()) + "ms last §8| §fShrunk: §7" + budget.getShrinkCount() +
+            " §8| §fGrown: §7" + budget.getGrowCount());
+        sender.sendMessage("§fSpawn Storm: " + (queue.isStormActive() ? "§cactive" : "§aidle") +
+            " §8(" + queue.getLastSpawnRate() + " spawns/s, tripped " + queue.getStormTrips() + "x)");
+        sender.sendMessage("§fAwaiting Observation: §7" + queue.getAwaitingObservationCount() +
+            " §8| §fScaled On Observation: §7" + queue.getTotalObserved());
+
+        MobScaleManager scaleManager = RealMobScale.getInstance().getMobScaleManager();
+        sender.sendMessage("§fPerformance Mode: §7" + (RealMobScale.getInstance().getConfigManager().enablePerformanceMode() ? "enabled" : "disabled"));
+        sendPipelineCost(sender, scaleManager);
+
+        SpawnerDecisionCache spawnerCache = RealMobScale.getInstance().getSpawnerDecisionCache();
+        sender.sendMessage("§fSpawner Cache: §7" + spawnerCache.getSize() + " spawners §8| §fHits: §7" +
+            spawnerCache.getHits() + " §8| §fMisses: §7" + spawnerCache.getMisses());
+        GrowthTracker growth = RealMobScale.getInstance().getGrowthTracker();
+        sender.sendMessage("§fGrowing Babies: §7" + growth.getTrackedCount() + " §8| §fRescaled As Adults: §7" +
+            growth.getTotalGrown() + " §8| §fGrowth Steps: §7" + growth.getTotalInterpolated());
+        sender.sendMessage("§fGroup Spawns: §7" + scaleManager.getGroupLeaders() + " packs §8| §fMembers Reused: §7" +
+            scaleManager.getGroupHits());
+        DecisionWorkerPool decisionPool = queue.getDecisionPool();
+        sender.sendMessage("§fAsync Decisions: " + (decisionPool.isRunning() ? "§aRunning" : "§7Off") +
+            " §8| §fIn Flight: §7" + decisionPool.getInFlight() + " §8| §fComputed: §7" + decisionPool.getTotalComputed());
+
+        ChunkScaleIndex chunkIndex = RealMobScale.getInstance().getChunkScaleIndex();
+        int chunkCap = RealMobScale.getInstance().getConfigManager().getMaxMobsPerChunk();
+        sender.sendMessage("§fChunk Cap: §7" + (chunkCap > 0 ? chunkCap : "unlimited") +
+            " §8| §fLeft Unscaled (cap): §7" + chunkIndex.getTotalOverCap());
+        for (ChunkScaleIndex.ChunkCount chunk : chunkIndex.getFullestChunks(5)) {
+            World world = RealMobScale.getInstance().getServer().getWorld(chunk.getWorldId());
+            sender.sendMessage("§7  - " + (world != null ? world.getName() : chunk.getWorldId().toString()) +
+                " (" + chunk.getChunkX() + ", " + chunk.getChunkZ() + "): §f" + chunk.getCount() +
+                (chunkCap > 0 ? "§7/" + chunkCap : ""));
+        }
 
         if (stats.getWorldsChecked() == 0) {
             sender.sendMessage("§cNo worlds are enabled for scaling!");
@@ -230,11 +312,69 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    /**
+     * Handle performance mode toggle
+     */
+    private void handlePerformanceCommand(CommandSender sender, String[] args) {
+        ConfigManager configManager = RealMobScale.getInstance().getConfigManager();
+        boolean enable;
+
+        if (args.length == 1) {
+            enable = !configManager.enablePerformanceMode();
+        } else {
+            switch (args[1].toLowerCase()) {
+                case "on":
+                case "true":
+                case "enable":
+                case "yes":
+                    enable = true;
+                    break;
+                case "off":
+                case "false":
+                case "disable":
+                case "no":
+                    enable = false;
+                    break;
+                default:
+                    sender.sendMessage("§cUsage: /realmobscale performance [on|off]");
+                    return;
+            }
+        }
+
+        String changedBy = sender instanceof Player ? ((Player) sender).getName() : "CONSOLE";
+        boolean started = RealMobScale.getInstance().getConfigReloader().setPerformanceMode(enable, changedBy, result -> {
+            if (!result.isPublished()) {
+                sender.sendMessage("§cPerformance mode was not changed, the current settings stay active.");
+                result.getReport().sendTo(sender, 10);
+                return;
+            }
+
+            sender.sendMessage("§aPerformance mode " + (enable ? "§aenabled" : "§cdisabled") + "§a!");
+            if (!result.getDiff().isEmpty()) {
+                sender.sendMessage("§7Rescaling affected entities in §f" + result.getRescaleChunks() + " §7loaded chunks over the next ticks");
+            }
+            sendPipelineCost(sender, RealMobScale.getInstance().getMobScaleManager());
+        });
+        if (!started) {
+            sender.sendMessage("§cA reload is already in progress.");
+        }
+    }
+
+    /**
+     * Show the measured per-entity cost of both scaling pipelines
+     */
+    private void sendPipelineCost(CommandSender sender, MobScaleManager scaleManager) {
+        sender.sendMessage("§fFull Pipeline: §7" + String.format("%.1f", scaleManager.getAverageScalingNanos(false) / 1000.0) +
+            "µs/entity §8(" + scaleManager.getScaledCount(false) + " scaled)");
+        sender.sendMessage("§fLean Pipeline: §7" + String.format("%.1f", scaleManager.getAverageScalingNanos(true) / 1000.0) +
+            "µs/entity §8(" + scaleManager.getScaledCount(true) + " scaled)");
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (args.length == 1) {
             // Main command suggestions
-            List<String> subCommands = Arrays.asList("reload", "info", "stats", "apply", "toggle", "debug", "help");
+            List<String> subCommands = Arrays.asList("reload", "info", "stats", "apply", "toggle", "debug", "performance", "help");
             return TabCompletionUtils.filterStartingWith(subCommands, args[0]);
         }
 
@@ -263,6 +403,12 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
                 }
                 break;
 
+            case "performance":
+                if (sender.hasPermission("realmobscale.admin")) {
+                    return TabCompletionUtils.getBooleanSuggestions(args[1]);
+                }
+                break;
+
             default:
                 break;
         }
@@ -343,7 +489,7 @@ public class ScaleCommand implements CommandExecutor, TabCompleter {
         }
 
         Player player = (Player) sender;
-        com.minekarta.realMobScale.managers.DebugManager debugManager = RealMobScale.getInstance().getDebugManager();
+        DebugManager debugManager = RealMobScale.getInstance().getDebugManager();
 
         if (args.length == 1) {
             // Toggle debug mode
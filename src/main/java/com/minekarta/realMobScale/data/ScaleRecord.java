@@ -0,0 +1,119 @@
+package com.minekarta.realMobScale.data;
+
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact record of the scaling applied to an entity, stored in its PersistentDataContainer
+ * Holds everything needed to detect a current scale and to undo a stale one without heuristics
+ */
+public class ScaleRecord {
+    public static final PersistentDataType<byte[], ScaleRecord> TYPE = new DataType();
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final byte LEGACY_FORMAT_VERSION = 1;
+
+    private final String profileId; // Profile the scale was computed from
+    private final int configGeneration; // Configuration generation at the time of scaling
+    private final double scaleFactor; // Final SCALE attribute value
+    private final double healthMultiplier; // Multiplier applied to MAX_HEALTH
+    private final double damageMultiplier; // Multiplier applied to ATTACK_DAMAGE
+    private final double speedMultiplier; // Multiplier applied to MOVEMENT_SPEED
+    private final boolean modifierBased; // Applied as AttributeModifiers rather than base-value changes
+
+    public ScaleRecord(String profileId, int configGeneration, double scaleFactor,
+                       double healthMultiplier, double damageMultiplier, double speedMultiplier,
+                       boolean modifierBased) {
+        this.profileId = profileId;
+        this.configGeneration = configGeneration;
+        this.scaleFactor = scaleFactor;
+        this.healthMultiplier = healthMultiplier;
+        this.damageMultiplier = damageMultiplier;
+        this.speedMultiplier = speedMultiplier;
+        this.modifierBased = modifierBased;
+    }
+
+    // ==================== GETTERS ====================
+
+    public String getProfileId() {
+        return profileId;
+    }
+
+    public int getConfigGeneration() {
+        return configGeneration;
+    }
+
+    public double getScaleFactor() {
+        return scaleFactor;
+    }
+
+    public double getHealthMultiplier() {
+        return healthMultiplier;
+    }
+
+    public double getDamageMultiplier() {
+        return damageMultiplier;
+    }
+
+    public double getSpeedMultiplier() {
+        return speedMultiplier;
+    }
+
+    public boolean isModifierBased() {
+        return modifierBased;
+    }
+
+    /**
+     * Binary encoding: version, flags, generation, four doubles, then the UTF-8 profile id
+     * Version 1 records have no flags byte and are always base-value based
+     */
+    private static class DataType implements PersistentDataType<byte[], ScaleRecord> {
+
+        @Override
+        public Class<byte[]> getPrimitiveType() {
+            return byte[].class;
+        }
+
+        @Override
+        public Class<ScaleRecord> getComplexType() {
+            return ScaleRecord.class;
+        }
+
+        @Override
+        public byte[] toPrimitive(ScaleRecord record, PersistentDataAdapterContext context) {
+            byte[] id = record.profileId.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(1 + 1 + 4 + 8 * 4 + id.length);
+            buffer.put(FORMAT_VERSION);
+            buffer.put((byte) (record.modifierBased ? 1 : 0));
+            buffer.putInt(record.configGeneration);
+            buffer.putDouble(record.scaleFactor);
+            buffer.putDouble(record.healthMultiplier);
+            buffer.putDouble(record.damageMultiplier);
+            buffer.putDouble(record.speedMultiplier);
+            buffer.put(id);
+            return buffer.array();
+        }
+
+        @Override
+        public ScaleRecord fromPrimitive(byte[] bytes, PersistentDataAdapterContext context) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            byte version = buffer.get();
+            if (version != FORMAT_VERSION && version != LEGACY_FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported scale record version " + version);
+            }
+
+            boolean modifierBased = version != LEGACY_FORMAT_VERSION && (buffer.get() & 1) != 0;
+            int generation = buffer.getInt();
+            double scale = buffer.getDouble();
+            double health = buffer.getDouble();
+            double damage = buffer.getDouble();
+            double speed = buffer.getDouble();
+            byte[] id = new byte[buffer.remaining()];
+            buffer.get(id);
+            return new ScaleRecord(new String(id, StandardCharsets.UTF_8), generation, scale, health, damage, speed, modifierBased);
+        }
+    }
+}
@@ -6,9 +6,26 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.event.entity.EntityBreedEvent;
 import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.entity.SpawnerSpawnEvent;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Entity;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import io.papermc.paper.event.player.PlayerTrackEntityEvent;
 import com.minekarta.realMobScale.RealMobScale;
+import com.minekarta.realMobScale.managers.SpawnPolicy;
+
+import java.util.List;
 
 /**
  * Comprehensive event listener for all mob spawning scenarios
@@ -17,6 +34,9 @@ import com.minekarta.realMobScale.RealMobScale;
 public class MobSpawnListener implements Listener {
 
     private final RealMobScale plugin;
+    // Spawner of the entity announced by the last SpawnerSpawnEvent, consumed by its CreatureSpawnEvent
+    // Per thread, as Folia fires both events on the region thread that owns the spawner
+    private final ThreadLocal<SpawnerSpawn> lastSpawner = new ThreadLocal<>();
 
     public MobSpawnListener() {
         this.plugin = RealMobScale.getInstance();
@@ -38,29 +58,44 @@ public class MobSpawnListener implements Listener {
                 ", Location: " + formatLocation(entity.getLocation()) + ")");
         }
 
-        // Apply scaling with small delay to ensure entity is fully initialized
-        // Use different delays based on spawn reason to optimize timing
-        long delay = getOptimalDelay(event.getSpawnReason());
+        // Spawner farms reuse the memoized decision of the spawner block
+        Block spawner = null;
+        SpawnerSpawn spawnerSpawn = lastSpawner.get();
+        if (spawnerSpawn != null) {
+            if (event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.SPAWNER
+                && entity.getEntityId() == spawnerSpawn.entityId) {
+                spawner = spawnerSpawn.block;
+            }
+            lastSpawner.remove();
+        }
 
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-            // Double-check entity still exists and is valid
-            if (entity.isValid() && !entity.isDead()) {
-                boolean wasApplied = plugin.getMobScaleManager().applyRealisticScaling(entity);
+        // Skipped and unsampled spawns cost nothing further, not even a storm count
+        SpawnPolicy policy = plugin.getConfigManager().getSpawnPolicy(event.getSpawnReason());
+        if (policy.getMode() == SpawnPolicy.Mode.SKIP || !policy.isSampled(entity.getEntityId())) {
+            return;
+        }
 
-                if (wasApplied) {
-                    // Send debug messages to admins with debug mode enabled
-                    double scaleFactor = entity.getAttribute(org.bukkit.attribute.Attribute.SCALE) != null ?
-                        entity.getAttribute(org.bukkit.attribute.Attribute.SCALE).getBaseValue() : 1.0;
+        // Spawn storm: defer all work until a player actually sees the entity
+        if (plugin.getScalingQueueManager().recordSpawn()) {
+            plugin.getScalingQueueManager().markPending(entity);
+            return;
+        }
 
-                    plugin.getDebugManager().sendScalingDebugMessage(
-                        "Applied scaling to spawned entity",
-                        entity.getType().name(),
-                        scaleFactor,
-                        entity.getLocation()
-                    );
-                }
-            }
-        }, delay);
+        switch (policy.getMode()) {
+            case EAGER:
+                // The entity is not yet in the world, so scaling now means clients
+                // never see the vanilla size and no follow-up attribute update is needed
+                plugin.getScalingQueueManager().applyNow(entity, "Applied scaling on spawn", event.getSpawnReason(), spawner);
+                break;
+            case LAZY:
+                plugin.getScalingQueueManager().markPending(entity);
+                break;
+            default:
+                // Queue scaling with a small delay to ensure the entity is fully initialized
+                plugin.getScalingQueueManager().enqueue(entity, policy.getDelayTicks(), "Applied scaling to spawned entity",
+                    event.getSpawnReason(), spawner);
+                break;
+        }
     }
 
     /**
@@ -77,35 +112,14 @@ public class MobSpawnListener implements Listener {
 
         LivingEntity baby = (LivingEntity) child;
 
-        if (plugin.getConfigManager().isDebugMode()) {
-            // Baby entity born from breeding: " + baby.getType().name() +
-            // " (Parents: " + event.getFather().getType().name() +
-            // " + " + event.getMother().getType().name() +
-            // ", Location: " + formatLocation(baby.getLocation()) + ")
-        }
-
-        // Apply scaling with slightly longer delay for breeding to ensure baby status is set
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-            if (baby.isValid() && !baby.isDead()) {
-                // Check if it's still a baby
-                boolean isBaby = isBabyAnimal(baby);
-
-                boolean wasApplied = plugin.getMobScaleManager().applyRealisticScaling(baby);
-
-                if (wasApplied) {
-                    // Send debug messages to admins with debug mode enabled
-                    double scaleFactor = baby.getAttribute(org.bukkit.attribute.Attribute.SCALE) != null ?
-                        baby.getAttribute(org.bukkit.attribute.Attribute.SCALE).getBaseValue() : 1.0;
-
-                    plugin.getDebugManager().sendScalingDebugMessage(
-                        "Applied scaling to bred baby",
-                        baby.getType().name() + (isBaby ? " (baby)" : ""),
-                        scaleFactor,
-                        baby.getLocation()
-                    );
-                }
-            }
-        }, 3L); // Longer delay for breeding to ensure baby status is properly set
+        // The child's CreatureSpawnEvent (BREEDING) follows this event and handles every other mode
+        SpawnPolicy policy = plugin.getConfigManager().getSpawnPolicy(CreatureSpawnEvent.SpawnReason.BREEDING);
+        if (policy.getMode() != SpawnPolicy.Mode.DELAYED || !policy.isSampled(baby.getEntityId())) {
+            return;
+        }
+
+        // Queue scaling with the breeding delay to ensure baby status is set
+        plugin.getScalingQueueManager().enqueue(baby, policy.getDelayTicks(), "Applied scaling to bred baby");
     }
 
     /**
@@ -121,105 +135,176 @@ public class MobSpawnListener implements Listener {
             return;
         }
 
-        LivingEntity livingEntity = (LivingEntity) entity;
-
-        // Skip if this was already handled by CreatureSpawnEvent
-        // This prevents duplicate scaling applications
-        if (wasRecentlyHandled(livingEntity)) {
+        // CreatureSpawnEvent extends EntitySpawnEvent, so those are already handled above
+        // Spawner spawns are followed by a CreatureSpawnEvent with reason SPAWNER
+        if (event instanceof CreatureSpawnEvent || event instanceof SpawnerSpawnEvent) {
             return;
         }
 
+        LivingEntity livingEntity = (LivingEntity) entity;
+
         if (plugin.getConfigManager().isDebugMode()) {
             plugin.getLogger().fine("Fallback entity spawn detected: " + livingEntity.getType().name() +
                 " (World: " + livingEntity.getWorld().getName() +
                 ", Location: " + formatLocation(livingEntity.getLocation()) + ")");
         }
 
-        // Apply scaling with delay
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-            if (livingEntity.isValid() && !livingEntity.isDead()) {
-                boolean wasApplied = plugin.getMobScaleManager().applyRealisticScaling(livingEntity);
+        if (plugin.getScalingQueueManager().recordSpawn()) {
+            plugin.getScalingQueueManager().markPending(livingEntity);
+            return;
+        }
 
-                if (wasApplied) {
-                    // Send debug messages to admins with debug mode enabled
-                    double scaleFactor = livingEntity.getAttribute(org.bukkit.attribute.Attribute.SCALE) != null ?
-                        livingEntity.getAttribute(org.bukkit.attribute.Attribute.SCALE).getBaseValue() : 1.0;
+        // Queue scaling with delay
+        plugin.getScalingQueueManager().enqueue(livingEntity, 2L, "Applied scaling via fallback");
+    }
 
-                    plugin.getDebugManager().sendScalingDebugMessage(
-                        "Applied scaling via fallback",
-                        livingEntity.getType().name(),
-                        scaleFactor,
-                        livingEntity.getLocation()
-                    );
-                }
-            }
-        }, 2L);
+    /**
+     * Scale entities marked during a spawn storm when a player first starts tracking them
+     * Fires on the main thread just before the spawn packet is sent, so the client
+     * receives the scaled size straight away
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTrackEntity(PlayerTrackEntityEvent event) {
+        if (event.getEntity() instanceof LivingEntity livingEntity) {
+            plugin.getScalingQueueManager().onObserved(livingEntity);
+        }
     }
 
     /**
-     * Get optimal delay based on spawn reason
+     * Remember which spawner produced the next entity
+     * Fires just before the entity's CreatureSpawnEvent, which picks the block up
      */
-    private long getOptimalDelay(CreatureSpawnEvent.SpawnReason reason) {
-        switch (reason) {
-            // Natural spawns need standard delay
-            case NATURAL:
-            case CHUNK_GEN:
-                return 2L;
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpawnerSpawn(SpawnerSpawnEvent event) {
+        if (event.getSpawner() == null || !(event.getEntity() instanceof LivingEntity)) {
+            return;
+        }
 
-            // Spawner spawns may need longer delay
-            case SPAWNER:
-                return 3L;
+        lastSpawner.set(new SpawnerSpawn(event.getSpawner().getBlock(), event.getEntity().getEntityId()));
+    }
+
+    /**
+     * Drop memoized decisions of spawners that are broken
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        if (event.getBlock().getType() == Material.SPAWNER) {
+            plugin.getSpawnerDecisionCache().invalidate(event.getBlock());
+        }
+    }
 
-            // Eggs and breeding need specific timing
-            case EGG:
-                return 2L;
-            case BREEDING:
-                return 3L; // Will be handled by dedicated breeding event
+    /**
+     * Drop memoized decisions of spawners destroyed by a block explosion
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        invalidateSpawners(event.blockList());
+    }
 
-            // Commands and manual spawns
-            case COMMAND:
-            case DISPENSE_EGG:
-                return 1L;
+    /**
+     * Drop memoized decisions of spawners destroyed by an entity explosion
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        invalidateSpawners(event.blockList());
+    }
 
-            // Default timing
-            default:
-                return 2L;
+    private void invalidateSpawners(List<Block> blocks) {
+        for (Block block : blocks) {
+            if (block.getType() == Material.SPAWNER) {
+                plugin.getSpawnerDecisionCache().invalidate(block);
+            }
         }
     }
 
     /**
-     * Check if entity is a baby animal
+     * Format location for logging
+     */
+    private String formatLocation(Location loc) {
+        return String.format("(%.1f, %.1f, %.1f)", loc.getX(), loc.getY(), loc.getZ());
+    }
+
+    /**
+     * Scale pre-existing entities incrementally as their chunks load
      */
-    private boolean isBabyAnimal(LivingEntity entity) {
-        // Check for ageable entities (most animals)
-        if (entity instanceof org.bukkit.entity.Ageable) {
-            return !((org.bukkit.entity.Ageable) entity).isAdult();
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        plugin.getChunkScaleIndex().markEntitiesLoaded(event.getChunk());
+
+        // Count entities that were scaled in an earlier session so the per-chunk cap stays accurate
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof LivingEntity livingEntity && plugin.getMobScaleManager().isScaled(livingEntity)) {
+                plugin.getChunkScaleIndex().add(livingEntity);
+                plugin.getGrowthTracker().track(livingEntity);
+            }
+        }
+
+        if (!plugin.getConfigManager().applyToExisting()) {
+            return;
+        }
+
+        if (!plugin.getConfigManager().isWorldEnabled(event.getWorld())) {
+            return;
         }
 
-        // Check for specific baby entity types
-        String entityName = entity.getType().name().toLowerCase();
-        return entityName.contains("baby") || entityName.contains("child");
+        plugin.getScalingQueueManager().enqueueChunk(event.getChunk());
     }
 
     /**
-     * Format location for logging
+     * Release the entity's de-duplication slot and chunk count when it leaves the world
+     * Fires for deaths, despawns and chunk unloads alike
      */
-    private String formatLocation(org.bukkit.Location loc) {
-        return String.format("(%.1f, %.1f, %.1f)", loc.getX(), loc.getY(), loc.getZ());
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+        plugin.getScalingQueueManager().forget(event.getEntity());
+        plugin.getChunkScaleIndex().remove(event.getEntity());
+        plugin.getGrowthTracker().forget(event.getEntity());
+    }
+
+    /**
+     * Stop offering a chunk to bulk operations once its entities unload
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        plugin.getChunkScaleIndex().markEntitiesUnloaded(event.getChunk());
+    }
+
+    /**
+     * Drop per-chunk scale counts when a chunk unloads
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        plugin.getChunkScaleIndex().clearChunk(event.getChunk());
     }
 
     /**
-     * Simple check to avoid duplicate scaling applications
-     * This is a basic implementation - could be enhanced with a proper tracking system
+     * Resolve whether scaling is enabled in a newly loaded world
      */
-    private boolean wasRecentlyHandled(LivingEntity entity) {
-        // For now, we'll use a simple approach: check if the entity already has scaling applied
-        // In a more advanced implementation, we could track recent scaling operations
-        try {
-            return entity.getAttribute(org.bukkit.attribute.Attribute.SCALE) != null &&
-                   entity.getAttribute(org.bukkit.attribute.Attribute.SCALE).getBaseValue() != 1.0;
-        } catch (Exception e) {
-            return false;
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        plugin.getConfigManager().registerWorld(event.getWorld());
+    }
+
+    /**
+     * Drop per-chunk scale counts and the world's enabled flag when a world unloads
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        plugin.getChunkScaleIndex().clearWorld(event.getWorld());
+        plugin.getSpawnerDecisionCache().clearWorld(event.getWorld());
+        plugin.getConfigManager().unregisterWorld(event.getWorld());
+    }
+
+    /**
+     * Spawner block and the entity it announced
+     */
+    private static class SpawnerSpawn {
+        private final Block block;
+        private final int entityId;
+
+        private SpawnerSpawn(Block block, int entityId) {
+            this.block = block;
+            this.entityId = entityId;
         }
     }
-}
\ No newline at end of file
+}
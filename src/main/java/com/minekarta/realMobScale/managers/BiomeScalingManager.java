@@ -1,6 +1,10 @@
 package com.minekarta.realMobScale.managers;
 
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
 import org.bukkit.block.Biome;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import com.minekarta.realMobScale.RealMobScale;
@@ -146,52 +150,107 @@ public class BiomeScalingManager {
      * Load biome multipliers from configuration
      */
     private void loadBiomeMultipliers() {
-        biomeMultipliers = new HashMap<>();
+        ValidationReport report = new ValidationReport();
+        biomeMultipliers = parseMultipliers(biomeConfig, report);
+        report.log(plugin.getLogger());
+        logLoaded();
+    }
 
-        if (!biomeConfig.getBoolean("settings.enabled", true)) {
+    private void logLoaded() {
+        if (!isBiomeScalingEnabled()) {
             plugin.getLogger().info("Biome-specific scaling is disabled in configuration");
             return;
         }
+        plugin.getLogger().info("Loaded biome scaling data for " + biomeMultipliers.size() + " biomes");
+    }
+
+    /**
+     * Parse and validate the biome multipliers of a configuration
+     * Pure apart from the report, so it can run on any thread
+     */
+    private static Map<String, BiomeScalingData> parseMultipliers(FileConfiguration biomeConfig, ValidationReport report) {
+        Map<String, BiomeScalingData> multipliers = new HashMap<>();
+        if (!biomeConfig.getBoolean("settings.enabled", true)) {
+            return multipliers;
+        }
 
         double minMultiplier = biomeConfig.getDouble("settings.minimum_multiplier", 0.5);
         double maxMultiplier = biomeConfig.getDouble("settings.maximum_multiplier", 2.0);
+        if (minMultiplier <= 0 || minMultiplier > maxMultiplier) {
+            report.warn("biome_scaling.yml", "settings.minimum_multiplier",
+                "range " + minMultiplier + ".." + maxMultiplier + " is invalid, using 0.5..2.0");
+            minMultiplier = 0.5;
+            maxMultiplier = 2.0;
+        }
 
-        if (biomeConfig.contains("biomes")) {
-            for (String biomeName : biomeConfig.getConfigurationSection("biomes").getKeys(false)) {
-                double multiplier = biomeConfig.getDouble("biomes." + biomeName + ".multiplier", 1.0);
+        ConfigurationSection biomes = biomeConfig.getConfigurationSection("biomes");
+        if (biomes != null) {
+            for (String biomeName : biomes.getKeys(false)) {
+                String path = "biomes." + biomeName + ".multiplier";
+                if (!(biomeConfig.get(path) instanceof Number)) {
+                    report.warn("biome_scaling.yml", path, "'" + biomeConfig.get(path) + "' is not a number, ignored");
+                    continue;
+                }
+                if (!isKnownBiome(biomeName)) {
+                    report.warn("biome_scaling.yml", "biomes." + biomeName, "unknown biome, only matches its biome family");
+                }
 
                 // Clamp to min/max values
-                multiplier = Math.max(minMultiplier, Math.min(maxMultiplier, multiplier));
+                double multiplier = biomeConfig.getDouble(path, 1.0);
+                double clamped = Math.max(minMultiplier, Math.min(maxMultiplier, multiplier));
+                if (clamped != multiplier) {
+                    report.warn("biome_scaling.yml", path, multiplier + " is out of range, using " + clamped);
+                }
 
-                biomeMultipliers.put(biomeName, new BiomeScalingData(multiplier));
+                multipliers.put(biomeName, new BiomeScalingData(clamped));
             }
         }
+        return multipliers;
+    }
 
-        plugin.getLogger().info("Loaded biome scaling data for " + biomeMultipliers.size() + " biomes");
+    private static boolean isKnownBiome(String biomeName) {
+        try {
+            return Registry.BIOME.get(NamespacedKey.minecraft(biomeName.toLowerCase())) != null;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
     }
 
     /**
      * Get the scale multiplier for a specific biome and entity type
      */
     public double getBiomeScaleMultiplier(Biome biome, String entityType) {
+        if (!appliesToEntity(entityType)) {
+            return 1.0;
+        }
+
+        return getBiomeMultiplier(biome.getKey().getKey().toUpperCase());
+    }
+
+    /**
+     * Check if biome multipliers are enabled and apply to an entity type
+     */
+    public boolean appliesToEntity(String entityType) {
         // Check if biome scaling is enabled globally
         if (!isBiomeScalingEnabled()) {
-            return 1.0;
+            return false;
         }
 
         // Check if biome scaling applies to all entities or specific ones
         boolean applyToAll = biomeConfig.getBoolean("settings.apply_to_all_entities", false);
-        if (!applyToAll && !shouldApplyToEntity(entityType)) {
-            return 1.0;
-        }
-
-        String biomeKey = biome.getKey().getKey().toUpperCase();
+        return applyToAll || shouldApplyToEntity(entityType);
+    }
 
+    /**
+     * Resolve the multiplier of a biome key, falling back to its biome family
+     * @param biomeKey Upper-case biome key, e.g. DEEP_OCEAN
+     */
+    public double getBiomeMultiplier(String biomeKey) {
         // Direct biome match
         if (biomeMultipliers.containsKey(biomeKey)) {
             double multiplier = biomeMultipliers.get(biomeKey).getMultiplier();
             if (isDebugMode()) {
-                plugin.getLogger().fine("Applied biome multiplier " + multiplier + " for biome " + biomeKey + " and entity " + entityType);
+                plugin.getLogger().fine("Applied biome multiplier " + multiplier + " for biome " + biomeKey);
             }
             return multiplier;
         }
@@ -292,11 +351,61 @@ public class BiomeScalingManager {
      * Reload biome configuration
      */
     public void reloadBiomeConfig() {
-        if (biomeConfigFile != null && biomeConfigFile.exists()) {
-            biomeConfig = YamlConfiguration.loadConfiguration(biomeConfigFile);
-            loadBiomeMultipliers();
-            plugin.getLogger().info("Biome scaling configuration reloaded");
+        ValidationReport report = new ValidationReport();
+        Prepared prepared = prepare(report);
+        report.log(plugin.getLogger());
+        if (prepared != null) {
+            publish(prepared);
+        }
+    }
+
+    /**
+     * Read, parse and validate biome_scaling.yml without touching the live multipliers
+     * Safe to call from any thread
+     * @return the parsed file, or null if it does not exist
+     */
+    Prepared prepare(ValidationReport report) {
+        if (biomeConfigFile == null || !biomeConfigFile.exists()) {
+            return null;
         }
+
+        YamlConfiguration loaded = new YamlConfiguration();
+        try {
+            loaded.load(biomeConfigFile);
+        } catch (IOException | InvalidConfigurationException e) {
+            report.error("biome_scaling.yml", "(file)", "could not be parsed: " + e.getMessage());
+        }
+        return new Prepared(loaded, parseMultipliers(loaded, report));
+    }
+
+    /**
+     * Make a prepared biome configuration live (main thread only)
+     */
+    void publish(Prepared prepared) {
+        biomeConfig = prepared.config;
+        biomeMultipliers = prepared.multipliers;
+        logLoaded();
+        plugin.getLogger().info("Biome scaling configuration reloaded");
+    }
+
+    /**
+     * Get a copy of the configured biome multipliers keyed by biome name
+     */
+    public Map<String, Double> getBiomeMultipliers() {
+        Map<String, Double> copy = new HashMap<>();
+        if (biomeMultipliers != null) {
+            for (Map.Entry<String, BiomeScalingData> entry : biomeMultipliers.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue().getMultiplier());
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Check if biome scaling applies to every entity type rather than the default selection
+     */
+    public boolean isApplyToAllEntities() {
+        return biomeConfig != null && biomeConfig.getBoolean("settings.apply_to_all_entities", false);
     }
 
     /**
@@ -306,6 +415,19 @@ public class BiomeScalingManager {
         return biomeMultipliers != null ? biomeMultipliers.size() : 0;
     }
 
+    /**
+     * Parsed and validated biome_scaling.yml, not yet live
+     */
+    static final class Prepared {
+        private final FileConfiguration config;
+        private final Map<String, BiomeScalingData> multipliers;
+
+        private Prepared(FileConfiguration config, Map<String, BiomeScalingData> multipliers) {
+            this.config = config;
+            this.multipliers = multipliers;
+        }
+    }
+
     /**
      * Inner class to store biome scaling data
      */
@@ -0,0 +1,304 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.GameRule;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import com.minekarta.realMobScale.RealMobScale;
+import com.minekarta.realMobScale.utils.FoliaScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Incrementally maintained count of scaled entities per chunk
+ * Enforces realistic.max-mobs-per-chunk with an O(1) lookup instead of iterating entities
+ *
+ * An entity is counted in the chunk where it was scaled or loaded and uncounted from that
+ * same chunk when it is reverted or leaves the world, so counts never drift below zero.
+ * Counts are not moved as entities walk, so the cap applies per spawn chunk: an entity stays
+ * counted where it was scaled until that chunk unloads, and is then re-counted in the chunk
+ * it is in if it is still alive elsewhere
+ *
+ * All maps are concurrent and counts are updated atomically, so Folia regions can
+ * scale entities in parallel. On Folia the index also remembers which chunks have
+ * their entities loaded, as World#getLoadedChunks cannot be used from a region thread
+ */
+public class ChunkScaleIndex {
+    private final ConfigManager configManager;
+    // World UID -> packed chunk key -> IDs of the scaled entities counted there
+    private final Map<UUID, Map<Long, Set<Integer>>> counts;
+    // Entity ID -> entity and packed chunk key it is counted in
+    private final Map<Integer, CountedEntity> countedEntities;
+    // World UID -> packed keys of chunks whose entities are loaded (Folia only)
+    private final Map<UUID, Set<Long>> entityChunks;
+    private final AtomicLong totalOverCap;
+
+    public ChunkScaleIndex(ConfigManager configManager) {
+        this.configManager = configManager;
+        this.counts = new ConcurrentHashMap<>();
+        this.countedEntities = new ConcurrentHashMap<>();
+        this.entityChunks = new ConcurrentHashMap<>();
+        this.totalOverCap = new AtomicLong();
+    }
+
+    /**
+     * Check if the chunk an entity is in can take another scaled entity
+     * Records a rejection when the cap is reached
+     */
+    public boolean hasCapacity(LivingEntity entity) {
+        int cap = configManager.getMaxMobsPerChunk();
+        if (cap <= 0 || countedEntities.containsKey(entity.getEntityId())) {
+            return true;
+        }
+
+        Location location = entity.getLocation();
+        if (getCount(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4) < cap) {
+            return true;
+        }
+
+        totalOverCap.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Count an entity that was just scaled or loaded with a scale record
+     */
+    public void add(LivingEntity entity) {
+        Location location = entity.getLocation();
+        UUID worldId = location.getWorld().getUID();
+        long key = Chunk.getChunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        if (countedEntities.putIfAbsent(entity.getEntityId(), new CountedEntity(entity, worldId, key)) != null) {
+            return;
+        }
+
+        // Add inside compute so a concurrent remove cannot drop the set before the ID lands in it
+        counts.computeIfAbsent(worldId, id -> new ConcurrentHashMap<>()).compute(key, (chunk, ids) -> {
+            Set<Integer> chunkIds = ids != null ? ids : ConcurrentHashMap.<Integer>newKeySet();
+            chunkIds.add(entity.getEntityId());
+            return chunkIds;
+        });
+    }
+
+    /**
+     * Uncount an entity that was reverted, died or left the world
+     */
+    public void remove(Entity entity) {
+        CountedEntity counted = countedEntities.remove(entity.getEntityId());
+        if (counted == null) {
+            return;
+        }
+
+        Map<Long, Set<Integer>> worldCounts = counts.get(counted.worldId);
+        if (worldCounts != null) {
+            worldCounts.computeIfPresent(counted.chunkKey, (key, ids) -> {
+                ids.remove(entity.getEntityId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Drop any remaining count for an unloaded chunk
+     * Entities inside the chunk are uncounted as they leave the world; the rest walked into
+     * another chunk and are re-counted there on their own thread
+     */
+    public void clearChunk(Chunk chunk) {
+        Map<Long, Set<Integer>> worldCounts = counts.get(chunk.getWorld().getUID());
+        Set<Integer> ids = worldCounts != null ? worldCounts.remove(chunk.getChunkKey()) : null;
+        if (ids != null) {
+            for (Integer id : ids) {
+                CountedEntity counted = countedEntities.remove(id);
+                if (counted != null && counted.entity.isValid()) {
+                    LivingEntity entity = counted.entity;
+                    FoliaScheduler.runForEntity(RealMobScale.getInstance(), entity, () -> {
+                        if (entity.isValid()) {
+                            add(entity);
+                        }
+                    }, 1L);
+                }
+            }
+        }
+        markEntitiesUnloaded(chunk);
+    }
+
+    /**
+     * Forget all counts for an unloaded world
+     */
+    public void clearWorld(World world) {
+        counts.remove(world.getUID());
+        entityChunks.remove(world.getUID());
+        countedEntities.values().removeIf(counted -> counted.worldId.equals(world.getUID()));
+    }
+
+    /**
+     * Remember a chunk whose entities finished loading (Folia only)
+     */
+    public void markEntitiesLoaded(Chunk chunk) {
+        if (FoliaScheduler.isFolia()) {
+            entityChunks.computeIfAbsent(chunk.getWorld().getUID(), id -> ConcurrentHashMap.newKeySet()).add(chunk.getChunkKey());
+        }
+    }
+
+    /**
+     * Seed the tracked chunk set with chunks whose entities loaded before the plugin enabled (Folia only)
+     * Scans each world's spawn chunks and every online player's view distance, one task per chunk
+     * on the region that owns it; the callback receives each seeded chunk on that region thread
+     */
+    public void seedLoadedChunks(Plugin plugin, Consumer<Chunk> onSeeded) {
+        if (!FoliaScheduler.isFolia()) {
+            return;
+        }
+
+        for (World world : Bukkit.getWorlds()) {
+            Location spawn = world.getSpawnLocation();
+            Integer radius = world.getGameRuleValue(GameRule.SPAWN_CHUNK_RADIUS);
+            seedAround(plugin, world, spawn.getBlockX() >> 4, spawn.getBlockZ() >> 4, radius != null ? radius : 2, onSeeded);
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            FoliaScheduler.runForEntity(plugin, player, () -> {
+                Location location = player.getLocation();
+                seedAround(plugin, player.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4,
+                        player.getViewDistance(), onSeeded);
+            }, 1L);
+        }
+    }
+
+    private void seedAround(Plugin plugin, World world, int centerX, int centerZ, int radius, Consumer<Chunk> onSeeded) {
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                int chunkX = x;
+                int chunkZ = z;
+                FoliaScheduler.runAtChunk(plugin, world, chunkX, chunkZ, () -> {
+                    if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                        return;
+                    }
+                    Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+                    Set<Long> keys = entityChunks.computeIfAbsent(world.getUID(), id -> ConcurrentHashMap.newKeySet());
+                    if (chunk.isEntitiesLoaded() && keys.add(chunk.getChunkKey()) && onSeeded != null) {
+                        onSeeded.accept(chunk);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Forget a chunk whose entities were unloaded (Folia only)
+     */
+    public void markEntitiesUnloaded(Chunk chunk) {
+        Set<Long> keys = entityChunks.get(chunk.getWorld().getUID());
+        if (keys != null) {
+            keys.remove(chunk.getChunkKey());
+        }
+    }
+
+    /**
+     * Get the packed keys of the chunks in a world whose entities are loaded
+     * Uses World#getLoadedChunks on Paper and the tracked chunk set on Folia
+     */
+    public long[] getLoadedChunkKeys(World world) {
+        if (FoliaScheduler.isFolia()) {
+            Set<Long> keys = entityChunks.get(world.getUID());
+            return keys != null ? keys.stream().mapToLong(Long::longValue).toArray() : new long[0];
+        }
+
+        Chunk[] chunks = world.getLoadedChunks();
+        long[] keys = new long[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            keys[i] = chunks[i].getChunkKey();
+        }
+        return keys;
+    }
+
+    /**
+     * Get the scaled entity count of a chunk
+     */
+    public int getCount(World world, int chunkX, int chunkZ) {
+        Map<Long, Set<Integer>> worldCounts = counts.get(world.getUID());
+        if (worldCounts == null) {
+            return 0;
+        }
+        Set<Integer> ids = worldCounts.get(Chunk.getChunkKey(chunkX, chunkZ));
+        return ids != null ? ids.size() : 0;
+    }
+
+    /**
+     * Get the chunks with the most scaled entities, highest first
+     * Intended for statistics only; sorts all tracked chunks
+     */
+    public List<ChunkCount> getFullestChunks(int limit) {
+        List<ChunkCount> result = new ArrayList<>();
+        for (Map.Entry<UUID, Map<Long, Set<Integer>>> world : counts.entrySet()) {
+            for (Map.Entry<Long, Set<Integer>> chunk : world.getValue().entrySet()) {
+                long key = chunk.getKey();
+                result.add(new ChunkCount(world.getKey(), (int) key, (int) (key >> 32), chunk.getValue().size()));
+            }
+        }
+        result.sort((a, b) -> Integer.compare(b.getCount(), a.getCount()));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Get the number of entities left unscaled because their chunk was at the cap
+     */
+    public long getTotalOverCap() {
+        return totalOverCap.get();
+    }
+
+    /**
+     * Get the number of scaled entities currently counted
+     */
+    public int getCountedEntityCount() {
+        return countedEntities.size();
+    }
+
+    /**
+     * Chunk an entity is counted in
+     * The entity is held until it leaves the world, which always uncounts it
+     */
+    private static class CountedEntity {
+        private final LivingEntity entity;
+        private final UUID worldId;
+        private final long chunkKey;
+
+        private CountedEntity(LivingEntity entity, UUID worldId, long chunkKey) {
+            this.entity = entity;
+            this.worldId = worldId;
+            this.chunkKey = chunkKey;
+        }
+    }
+
+    /**
+     * Count of scaled entities in a single chunk
+     */
+    public static class ChunkCount {
+        private final UUID worldId;
+        private final int chunkX;
+        private final int chunkZ;
+        private final int count;
+
+        public ChunkCount(UUID worldId, int chunkX, int chunkZ, int count) {
+            this.worldId = worldId;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.count = count;
+        }
+
+        public UUID getWorldId() { return worldId; }
+        public int getChunkX() { return chunkX; }
+        public int getChunkZ() { return chunkZ; }
+        public int getCount() { return count; }
+    }
+}
@@ -0,0 +1,377 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import com.minekarta.realMobScale.data.ScaleProfile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable, fully parsed copy of config.yml
+ * Built once per reload and published by ConfigManager through a volatile reference, so getters
+ * read final fields instead of walking the YAML tree and building path strings on every call.
+ * Fields are read directly by ConfigManager, which owns the public accessors.
+ * Has no side effects beyond the report, so it can be built on any thread
+ */
+final class CompiledConfig {
+    // Settings
+    final boolean enabled;
+    final boolean applyToExisting;
+    final boolean instantScaling;
+    final boolean attributeModifiers;
+    final boolean debug;
+    final boolean fileWatcher;
+    final long fileWatcherDebounceMillis;
+    final Map<CreatureSpawnEvent.SpawnReason, SpawnPolicy> spawnPolicies;
+
+    // Performance
+    final int drainInterval;
+    final int maxProcessingPerTick;
+    final long maxProcessingNanosPerTick;
+    final int maxQueueSize;
+    final int growthBatchSize;
+    final boolean prioritizeNearPlayers;
+    final boolean spawnerCache;
+    final boolean groupBatching;
+    final double groupSizeVariation;
+    final boolean asyncDecisions;
+    final int decisionThreads;
+    final boolean spawnStorm;
+    final int spawnStormThreshold;
+    final boolean adaptiveBudget;
+    final double adaptiveTargetMspt;
+    final double adaptiveRecoverMspt;
+    final double adaptiveMinBudgetFactor;
+    final double adaptiveShrinkFactor;
+    final double adaptiveGrowFactor;
+
+    // Worlds
+    final String worldMode;
+    final boolean worldWhitelist;
+    final List<String> worldList;
+    final Set<String> worldSet;
+
+    // Mobs
+    final boolean mobEnabledByDefault;
+    final Map<EntityType, Boolean> mobEnabled;
+    final Map<EntityType, Double> customScales;
+    final Map<EntityType, Double> customHealth;
+    final Map<EntityType, Double> customBabyScales;
+
+    // Compatibility
+    final boolean respectOtherPlugins;
+    final List<String> checkedPlugins;
+
+    // Realistic
+    final boolean realisticMode;
+    final boolean babyScaling;
+    final double babyScaleMultiplier;
+    final boolean growthRescaling;
+    final int growthInterpolationSteps;
+    final boolean realisticHealth;
+    final boolean realisticSpeed;
+    final boolean realisticDamage;
+    final boolean showDetailedInfo;
+    final double globalScaleMultiplier;
+    final double globalHealthMultiplier;
+    final boolean sizeCategories;
+    final boolean respectWorldBorders;
+    final String loggingLevel;
+    final boolean performanceMode;
+    final int maxMobsPerChunk;
+
+    // Categories
+    final boolean animals;
+    final boolean waterCreatures;
+    final boolean flyingCreatures;
+    final boolean arthropods;
+
+    // Species profiles indexed by EntityType ordinal, as loaded when this was compiled
+    final ScaleProfile[] profiles;
+
+    // Per-type values derived from all of the above
+    final EntityTypeTable types;
+    // World name -> table with the worlds.<name> overlay merged in, only for worlds that have one
+    final Map<String, EntityTypeTable> worldTypes;
+    // Overlay contents by world name, hashed into the type generations
+    final Map<String, String> worldOverlays;
+
+    private static final String FILE = "config.yml";
+    // Longest per-reason queue delay (one minute); an entity is rarely still worth scaling later
+    private static final int MAX_SPAWN_DELAY = 1200;
+
+    CompiledConfig(FileConfiguration config, ScaleProfile[] profiles, ValidationReport report) {
+        this.profiles = profiles;
+        enabled = config.getBoolean("settings.enabled", true);
+        applyToExisting = config.getBoolean("settings.apply-to-existing", false);
+        instantScaling = config.getBoolean("settings.instant-scaling", true);
+        attributeModifiers = "MODIFIER".equalsIgnoreCase(config.getString("settings.scaling-method", "MODIFIER"));
+        debug = config.getBoolean("settings.debug", false);
+        fileWatcher = config.getBoolean("settings.watch-files.enabled", false);
+        fileWatcherDebounceMillis = getInt(config, "settings.watch-files.debounce-ms", 1000, 50, 60_000, report);
+        spawnPolicies = compileSpawnPolicies(config, instantScaling, report);
+
+        drainInterval = getInt(config, "settings.performance.drain-interval", 1, 1, Integer.MAX_VALUE, report);
+        if (config.contains("settings.performance.check-interval", true)) {
+            // Old configs ship check-interval: 100, far too slow a period for the scaling queue
+            report.warn(FILE, "settings.performance.check-interval",
+                "is no longer used and was ignored; the scaling queue period is settings.performance.drain-interval");
+        }
+        maxProcessingPerTick = getInt(config, "settings.performance.max-processing-per-tick", 10, 1, Integer.MAX_VALUE, report);
+        maxProcessingNanosPerTick = (long) getDouble(config, "settings.performance.max-processing-nanos-per-tick", 2_000_000.0, 0.0, Long.MAX_VALUE, report);
+        maxQueueSize = getInt(config, "settings.performance.max-queue-size", 5000, 1, Integer.MAX_VALUE, report);
+        growthBatchSize = getInt(config, "settings.performance.growth-batch-size", 50, 1, Integer.MAX_VALUE, report);
+        prioritizeNearPlayers = config.getBoolean("settings.performance.prioritize-near-players", true);
+        spawnerCache = config.getBoolean("settings.performance.cache-spawner-decisions", true);
+        groupBatching = config.getBoolean("settings.performance.batch-group-spawns", true);
+        groupSizeVariation = getDouble(config, "settings.performance.group-size-variation", 0.0, 0.0, 0.5, report);
+        asyncDecisions = config.getBoolean("settings.performance.async-decisions", true);
+        decisionThreads = getInt(config, "settings.performance.decision-threads", 2, 1, 8, report);
+        spawnStorm = config.getBoolean("settings.performance.spawn-storm.enabled", true);
+        spawnStormThreshold = getInt(config, "settings.performance.spawn-storm.spawns-per-second", 200, 1, Integer.MAX_VALUE, report);
+        adaptiveBudget = config.getBoolean("settings.performance.adaptive.enabled", true);
+        adaptiveTargetMspt = getDouble(config, "settings.performance.adaptive.target-mspt", 40.0, 1.0, 1000.0, report);
+        adaptiveRecoverMspt = getDouble(config, "settings.performance.adaptive.recover-mspt", 30.0, 1.0, 1000.0, report);
+        if (adaptiveRecoverMspt > adaptiveTargetMspt) {
+            report.warn(FILE, "settings.performance.adaptive.recover-mspt",
+                "is above target-mspt, so the budget never recovers");
+        }
+        adaptiveMinBudgetFactor = getDouble(config, "settings.performance.adaptive.min-budget-factor", 0.1, 0.01, 1.0, report);
+        adaptiveShrinkFactor = getDouble(config, "settings.performance.adaptive.shrink-factor", 0.5, 0.01, 1.0, report);
+        adaptiveGrowFactor = getDouble(config, "settings.performance.adaptive.grow-factor", 1.1, 1.0, Double.MAX_VALUE, report);
+
+        worldMode = config.getString("worlds.mode", "whitelist");
+        if (!"whitelist".equalsIgnoreCase(worldMode) && !"blacklist".equalsIgnoreCase(worldMode)) {
+            report.warn(FILE, "worlds.mode", "unknown mode '" + worldMode + "', treated as blacklist");
+        }
+        worldWhitelist = "whitelist".equalsIgnoreCase(worldMode);
+        List<String> worlds = config.getStringList("worlds.list");
+        if (worlds.isEmpty()) {
+            worlds = new ArrayList<>();
+            worlds.add("world");
+            worlds.add("world_nether");
+            worlds.add("world_the_end");
+        }
+        worldList = Collections.unmodifiableList(worlds);
+        worldSet = Collections.unmodifiableSet(new HashSet<>(worlds));
+
+        mobEnabledByDefault = config.getBoolean("mobs.enabled-by-default", true);
+        mobEnabled = new EnumMap<>(EntityType.class);
+        customScales = new EnumMap<>(EntityType.class);
+        customHealth = new EnumMap<>(EntityType.class);
+        customBabyScales = new EnumMap<>(EntityType.class);
+        ConfigurationSection overrides = config.getConfigurationSection("mobs.overrides");
+        if (overrides != null) {
+            for (String name : overrides.getKeys(false)) {
+                EntityType type = parseEntityType(name, "mobs.overrides." + name, report);
+                ConfigurationSection override = overrides.getConfigurationSection(name);
+                if (type == null || override == null) {
+                    continue;
+                }
+                if (override.contains("enabled")) {
+                    mobEnabled.put(type, override.getBoolean("enabled", mobEnabledByDefault));
+                }
+                if (override.contains("custom-scale")) {
+                    customScales.put(type, getDouble(override, "custom-scale", -1.0, -1.0, 100.0, report));
+                }
+                if (override.contains("custom-health")) {
+                    customHealth.put(type, getDouble(override, "custom-health", -1.0, -1.0, 100.0, report));
+                }
+                if (override.contains("custom-baby-scale")) {
+                    customBabyScales.put(type, getDouble(override, "custom-baby-scale", -1.0, -1.0, 100.0, report));
+                }
+            }
+        }
+
+        respectOtherPlugins = config.getBoolean("compatibility.respect-other-plugins", true);
+        checkedPlugins = Collections.unmodifiableList(config.getStringList("compatibility.checked-plugins"));
+
+        realisticMode = config.getBoolean("realistic.enabled", true);
+        babyScaling = config.getBoolean("realistic.baby-scaling", true);
+        babyScaleMultiplier = getDouble(config, "realistic.baby-scale-multiplier", 1.0, 0.01, 100.0, report);
+        growthRescaling = config.getBoolean("realistic.growth-rescaling", true);
+        growthInterpolationSteps = getInt(config, "realistic.growth-interpolation-steps", 0, 0, Integer.MAX_VALUE, report);
+        realisticHealth = config.getBoolean("realistic.realistic-health", true);
+        realisticSpeed = config.getBoolean("realistic.realistic-speed", true);
+        realisticDamage = config.getBoolean("realistic.realistic-damage", true);
+        showDetailedInfo = config.getBoolean("realistic.show-detailed-info", false);
+        globalScaleMultiplier = getDouble(config, "realistic.global-scale-multiplier", 1.0, 0.01, 100.0, report);
+        globalHealthMultiplier = getDouble(config, "realistic.global-health-multiplier", 1.0, 0.01, 100.0, report);
+        sizeCategories = config.getBoolean("realistic.enable-size-categories", true);
+        respectWorldBorders = config.getBoolean("realistic.respect-world-borders", true);
+        loggingLevel = config.getString("realistic.logging-level", "INFO").toUpperCase();
+        performanceMode = config.getBoolean("realistic.performance-mode", false);
+        maxMobsPerChunk = getInt(config, "realistic.max-mobs-per-chunk", 50, 0, Integer.MAX_VALUE, report);
+
+        animals = config.getBoolean("categories.animals.enabled", true);
+        waterCreatures = config.getBoolean("categories.water-creatures.enabled", true);
+        flyingCreatures = config.getBoolean("categories.flying-creatures.enabled", true);
+        arthropods = config.getBoolean("categories.arthropods.enabled", true);
+
+        types = new EntityTypeTable(this);
+        Map<String, EntityTypeTable> tables = new HashMap<>();
+        Map<String, String> overlays = new TreeMap<>();
+        ConfigurationSection worldsSection = config.getConfigurationSection("worlds");
+        if (worldsSection != null) {
+            for (String name : worldsSection.getKeys(false)) {
+                ConfigurationSection overlay = worldsSection.getConfigurationSection(name);
+                // "mode" and "list" are plain values, so only overlays are sections
+                if (overlay == null) {
+                    continue;
+                }
+                tables.put(name, new EntityTypeTable(this, overlay, report));
+                overlays.put(name, describeOverlay(overlay));
+            }
+        }
+        worldTypes = Collections.unmodifiableMap(tables);
+        worldOverlays = Collections.unmodifiableMap(overlays);
+    }
+
+    /**
+     * Read a whole number and clamp it into a range, reporting values that are not numbers or out of range
+     */
+    static int getInt(ConfigurationSection config, String path, int def, int min, int max, ValidationReport report) {
+        if (!config.contains(path)) {
+            return def;
+        }
+        if (!config.isInt(path)) {
+            report.warn(FILE, fullPath(config, path), "'" + config.get(path) + "' is not a whole number, using " + def);
+            return def;
+        }
+        int value = config.getInt(path);
+        int clamped = Math.max(min, Math.min(max, value));
+        if (clamped != value) {
+            report.warn(FILE, fullPath(config, path), value + " is out of range, using " + clamped);
+        }
+        return clamped;
+    }
+
+    /**
+     * Read a number and clamp it into a range, reporting values that are not numbers or out of range
+     */
+    static double getDouble(ConfigurationSection config, String path, double def, double min, double max, ValidationReport report) {
+        if (!config.contains(path)) {
+            return def;
+        }
+        if (!(config.get(path) instanceof Number)) {
+            report.warn(FILE, fullPath(config, path), "'" + config.get(path) + "' is not a number, using " + def);
+            return def;
+        }
+        double value = config.getDouble(path);
+        double clamped = Math.max(min, Math.min(max, value));
+        if (clamped != value) {
+            report.warn(FILE, fullPath(config, path), value + " is out of range, using " + clamped);
+        }
+        return clamped;
+    }
+
+    private static String fullPath(ConfigurationSection section, String path) {
+        String prefix = section.getCurrentPath();
+        return prefix == null || prefix.isEmpty() ? path : prefix + "." + path;
+    }
+
+    /**
+     * Resolve an entity type name, reporting unknown names
+     * @return the type, or null if the name is unknown
+     */
+    static EntityType parseEntityType(String name, String path, ValidationReport report) {
+        try {
+            return EntityType.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            report.warn(FILE, path, "unknown entity type '" + name + "', ignored");
+            return null;
+        }
+    }
+
+    /**
+     * Flatten an overlay into a stable string of its leaf values
+     */
+    private static String describeOverlay(ConfigurationSection overlay) {
+        Map<String, Object> values = new TreeMap<>();
+        for (Map.Entry<String, Object> entry : overlay.getValues(true).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return values.toString();
+    }
+
+    /**
+     * Compile the spawn policy of every spawn reason
+     * Defaults follow settings.instant-scaling and settings.delayed-spawn-reasons;
+     * entries under settings.spawn-reasons override them per reason
+     */
+    private static Map<CreatureSpawnEvent.SpawnReason, SpawnPolicy> compileSpawnPolicies(FileConfiguration config,
+                                                                                       boolean instant, ValidationReport report) {
+        // Breeding, egg and spawner spawns have their age set after the spawn event, so they are
+        // always delayed unless settings.spawn-reasons says otherwise
+        Set<CreatureSpawnEvent.SpawnReason> delayed = EnumSet.of(CreatureSpawnEvent.SpawnReason.BREEDING,
+            CreatureSpawnEvent.SpawnReason.EGG, CreatureSpawnEvent.SpawnReason.SPAWNER_EGG,
+            CreatureSpawnEvent.SpawnReason.DISPENSE_EGG, CreatureSpawnEvent.SpawnReason.SPAWNER);
+        for (String name : config.getStringList("settings.delayed-spawn-reasons")) {
+            try {
+                delayed.add(CreatureSpawnEvent.SpawnReason.valueOf(name.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                report.warn(FILE, "settings.delayed-spawn-reasons", "unknown spawn reason '" + name + "', ignored");
+            }
+        }
+
+        Map<CreatureSpawnEvent.SpawnReason, SpawnPolicy> policies = new EnumMap<>(CreatureSpawnEvent.SpawnReason.class);
+        for (CreatureSpawnEvent.SpawnReason reason : CreatureSpawnEvent.SpawnReason.values()) {
+            SpawnPolicy.Mode mode = instant && !delayed.contains(reason) ? SpawnPolicy.Mode.EAGER : SpawnPolicy.Mode.DELAYED;
+            policies.put(reason, new SpawnPolicy(mode, getDefaultSpawnDelay(reason), 1.0));
+        }
+
+        ConfigurationSection section = config.getConfigurationSection("settings.spawn-reasons");
+        if (section != null) {
+            for (String name : section.getKeys(false)) {
+                CreatureSpawnEvent.SpawnReason reason;
+                try {
+                    reason = CreatureSpawnEvent.SpawnReason.valueOf(name.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    report.warn(FILE, "settings.spawn-reasons." + name, "unknown spawn reason, ignored");
+                    continue;
+                }
+
+                SpawnPolicy fallback = policies.get(reason);
+                String modeName = section.getString(name + ".mode", fallback.getMode().name());
+                SpawnPolicy.Mode mode;
+                try {
+                    mode = SpawnPolicy.Mode.valueOf(modeName.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    report.warn(FILE, "settings.spawn-reasons." + name + ".mode",
+                        "unknown mode '" + modeName + "' (expected skip, eager, delayed or lazy), ignored");
+                    continue;
+                }
+                policies.put(reason, new SpawnPolicy(mode,
+                    getInt(section, name + ".delay", (int) fallback.getDelayTicks(), 0, MAX_SPAWN_DELAY, report),
+                    getDouble(section, name + ".sample-rate", 1.0, 0.0, 1.0, report)));
+            }
+        }
+        return policies;
+    }
+
+    /**
+     * Built-in queue delay per spawn reason, used when a delayed policy sets none
+     */
+    private static long getDefaultSpawnDelay(CreatureSpawnEvent.SpawnReason reason) {
+        return switch (reason) {
+            // Spawner spawns and breeding need the baby state to settle
+            case SPAWNER, BREEDING -> 3L;
+            // Commands and manual spawns
+            case COMMAND, DISPENSE_EGG -> 1L;
+            default -> 2L;
+        };
+    }
+}
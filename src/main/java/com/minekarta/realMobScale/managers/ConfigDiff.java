@@ -0,0 +1,225 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Structured difference between two configuration snapshots
+ * Used on reload to rescale only the live entities whose settings actually changed
+ */
+public class ConfigDiff {
+    private final Map<String, Object> changedGlobals;
+    private final Set<EntityType> changedTypes;
+    private final Set<String> changedBiomes;
+    private final Set<String> enabledWorlds;
+    private final Set<String> disabledWorlds;
+    private final Set<String> changedOverlays;
+    private final Set<String> configuredBiomes;
+
+    private ConfigDiff(Map<String, Object> changedGlobals, Set<EntityType> changedTypes, Set<String> changedBiomes,
+                       Set<String> enabledWorlds, Set<String> disabledWorlds, Set<String> changedOverlays,
+                       Set<String> configuredBiomes) {
+        this.changedGlobals = changedGlobals;
+        this.changedTypes = changedTypes;
+        this.changedBiomes = changedBiomes;
+        this.enabledWorlds = enabledWorlds;
+        this.disabledWorlds = disabledWorlds;
+        this.changedOverlays = changedOverlays;
+        this.configuredBiomes = configuredBiomes;
+    }
+
+    /**
+     * Compute the difference between an older and a newer snapshot
+     */
+    public static ConfigDiff between(Snapshot oldSnapshot, Snapshot newSnapshot) {
+        Map<String, Object> globals = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : newSnapshot.globals.entrySet()) {
+            if (!Objects.equals(oldSnapshot.globals.get(entry.getKey()), entry.getValue())) {
+                globals.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        Set<EntityType> types = EnumSet.noneOf(EntityType.class);
+        for (Map.Entry<EntityType, Integer> entry : newSnapshot.typeSignatures.entrySet()) {
+            if (!entry.getValue().equals(oldSnapshot.typeSignatures.get(entry.getKey()))) {
+                types.add(entry.getKey());
+            }
+        }
+
+        Set<String> biomes = new TreeSet<>();
+        Set<String> biomeNames = new HashSet<>(oldSnapshot.biomeMultipliers.keySet());
+        biomeNames.addAll(newSnapshot.biomeMultipliers.keySet());
+        for (String biome : biomeNames) {
+            if (!Objects.equals(oldSnapshot.biomeMultipliers.get(biome), newSnapshot.biomeMultipliers.get(biome))) {
+                biomes.add(biome);
+            }
+        }
+
+        Set<String> enabled = new TreeSet<>();
+        Set<String> disabled = new TreeSet<>();
+        for (Map.Entry<String, Boolean> entry : newSnapshot.worldFlags.entrySet()) {
+            Boolean wasEnabled = oldSnapshot.worldFlags.get(entry.getKey());
+            if (wasEnabled == null || wasEnabled.equals(entry.getValue())) {
+                continue;
+            }
+            (entry.getValue() ? enabled : disabled).add(entry.getKey());
+        }
+
+        Set<String> overlays = new TreeSet<>();
+        Set<String> overlayWorlds = new HashSet<>(oldSnapshot.worldOverlays.keySet());
+        overlayWorlds.addAll(newSnapshot.worldOverlays.keySet());
+        for (String world : overlayWorlds) {
+            if (!Objects.equals(oldSnapshot.worldOverlays.get(world), newSnapshot.worldOverlays.get(world))) {
+                overlays.add(world);
+            }
+        }
+
+        return new ConfigDiff(globals, types, biomes, enabled, disabled, overlays, newSnapshot.biomeMultipliers.keySet());
+    }
+
+    /**
+     * Check if nothing that affects scaling has changed
+     */
+    public boolean isEmpty() {
+        return changedGlobals.isEmpty() && changedTypes.isEmpty() && changedBiomes.isEmpty()
+            && enabledWorlds.isEmpty() && disabledWorlds.isEmpty() && changedOverlays.isEmpty();
+    }
+
+    /**
+     * Check if a global setting changed, which affects every scaled entity
+     */
+    public boolean requiresFullRescale() {
+        return !changedGlobals.isEmpty();
+    }
+
+    /**
+     * Check if a live entity in an enabled world is affected by this diff
+     * Entities in biomes without a direct entry may fall back to a family match, so any
+     * biome change also affects them
+     */
+    public boolean affects(LivingEntity entity) {
+        if (requiresFullRescale() || changedTypes.contains(entity.getType())
+            || enabledWorlds.contains(entity.getWorld().getName()) || changedOverlays.contains(entity.getWorld().getName())) {
+            return true;
+        }
+
+        if (changedBiomes.isEmpty()) {
+            return false;
+        }
+
+        String biomeKey = entity.getLocation().getBlock().getBiome().getKey().getKey().toUpperCase();
+        return changedBiomes.contains(biomeKey) || !configuredBiomes.contains(biomeKey);
+    }
+
+    /**
+     * Flatten the change set for MobScaleConfigReloadEvent
+     * Changed globals are keyed by config path; types, biomes and worlds are listed by name
+     */
+    public Map<String, Object> toChangedSettings() {
+        Map<String, Object> settings = new LinkedHashMap<>(changedGlobals);
+        if (!changedTypes.isEmpty()) {
+            Set<String> names = new TreeSet<>();
+            for (EntityType type : changedTypes) {
+                names.add(type.name());
+            }
+            settings.put("mobs", names);
+        }
+        if (!changedBiomes.isEmpty()) {
+            settings.put("biomes", changedBiomes);
+        }
+        if (!enabledWorlds.isEmpty()) {
+            settings.put("worlds.enabled", enabledWorlds);
+        }
+        if (!disabledWorlds.isEmpty()) {
+            settings.put("worlds.disabled", disabledWorlds);
+        }
+        if (!changedOverlays.isEmpty()) {
+            settings.put("worlds.<name>", changedOverlays);
+        }
+        return settings;
+    }
+
+    // ==================== GETTERS ====================
+
+    public Map<String, Object> getChangedGlobals() {
+        return Collections.unmodifiableMap(changedGlobals);
+    }
+
+    public Set<EntityType> getChangedTypes() {
+        return Collections.unmodifiableSet(changedTypes);
+    }
+
+    public Set<String> getChangedBiomes() {
+        return Collections.unmodifiableSet(changedBiomes);
+    }
+
+    public Set<String> getEnabledWorlds() {
+        return Collections.unmodifiableSet(enabledWorlds);
+    }
+
+    public Set<String> getDisabledWorlds() {
+        return Collections.unmodifiableSet(disabledWorlds);
+    }
+
+    /**
+     * Get the worlds whose worlds.<name> overlay was added, changed or removed
+     */
+    public Set<String> getChangedOverlays() {
+        return Collections.unmodifiableSet(changedOverlays);
+    }
+
+    /**
+     * Immutable capture of everything that determines an entity's scale
+     */
+    public static class Snapshot {
+        private final Map<String, Object> globals;
+        private final Map<EntityType, Integer> typeSignatures;
+        private final Map<String, Double> biomeMultipliers;
+        private final Map<String, Boolean> worldFlags;
+        private final Map<String, String> worldOverlays;
+
+        private Snapshot(Map<String, Object> globals, Map<EntityType, Integer> typeSignatures,
+                         Map<String, Double> biomeMultipliers, Map<String, Boolean> worldFlags,
+                         Map<String, String> worldOverlays) {
+            this.globals = globals;
+            this.typeSignatures = typeSignatures;
+            this.biomeMultipliers = biomeMultipliers;
+            this.worldFlags = worldFlags;
+            this.worldOverlays = worldOverlays;
+        }
+
+        /**
+         * Capture the currently loaded configuration
+         */
+        public static Snapshot capture(ConfigManager configManager, BiomeScalingManager biomeManager, Iterable<World> worlds) {
+            Map<String, Object> globals = new LinkedHashMap<>(configManager.getScalingSettings());
+            globals.put("biomes.enabled", biomeManager.isBiomeScalingEnabled());
+            globals.put("biomes.apply_to_all_entities", biomeManager.isApplyToAllEntities());
+
+            Map<EntityType, Integer> types = new EnumMap<>(EntityType.class);
+            for (EntityType type : EntityType.values()) {
+                types.put(type, configManager.getTypeSignature(type));
+            }
+
+            Map<String, Boolean> worldFlags = new HashMap<>();
+            for (World world : worlds) {
+                worldFlags.put(world.getName(), configManager.isWorldEnabled(world));
+            }
+
+            return new Snapshot(globals, types, biomeManager.getBiomeMultipliers(), worldFlags,
+                configManager.getWorldOverlays());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.minekarta.realMobScale.managers;
+
+import com.minekarta.realMobScale.RealMobScale;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the plugin data folder and hot-reloads config.yml, biome_scaling.yml and species.yml when they change
+ * Bursts of writes (editors, file sync) are debounced into one reload, and only the files that
+ * changed are recompiled. Parsing runs through {@link ConfigReloader}, off the main thread
+ */
+public class ConfigFileWatcher {
+    private static final String CONFIG_FILE = "config.yml";
+    private static final String BIOME_FILE = "biome_scaling.yml";
+    private static final String SPECIES_FILE = "species.yml";
+
+    private final RealMobScale plugin;
+    private final ConfigManager configManager;
+    private WatchService watchService;
+    private Thread thread;
+
+    public ConfigFileWatcher(RealMobScale plugin, ConfigManager configManager) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+    }
+
+    /**
+     * Start watching if settings.watch-files is enabled, or stop if it was turned off
+     */
+    public synchronized void start() {
+        if (!configManager.isFileWatcherEnabled()) {
+            stop();
+            return;
+        }
+        if (thread != null) {
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            plugin.getDataFolder().toPath().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not watch the config folder: " + e.getMessage());
+            closeWatchService();
+            return;
+        }
+
+        WatchService service = watchService;
+        thread = new Thread(() -> watch(service), "RealMobScale-FileWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop watching; pending changes are dropped
+     */
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        closeWatchService();
+    }
+
+    public synchronized boolean isRunning() {
+        return thread != null;
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+            watchService = null;
+        }
+    }
+
+    /**
+     * Watcher thread loop
+     * Collects changed files until the folder has been quiet for the debounce period, then
+     * hands them to the reloader. A reload that is still running delays the dispatch
+     */
+    private void watch(WatchService service) {
+        boolean configChanged = false;
+        boolean biomesChanged = false;
+        boolean speciesChanged = false;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean pending = configChanged || biomesChanged || speciesChanged;
+                WatchKey key = pending
+                    ? service.poll(configManager.getFileWatcherDebounceMillis(), TimeUnit.MILLISECONDS)
+                    : service.take();
+
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            configChanged = true;
+                            biomesChanged = true;
+                            speciesChanged = true;
+                            continue;
+                        }
+                        String name = ((Path) event.context()).getFileName().toString();
+                        if (CONFIG_FILE.equals(name)) {
+                            configChanged = true;
+                        } else if (BIOME_FILE.equals(name)) {
+                            biomesChanged = true;
+                        } else if (SPECIES_FILE.equals(name)) {
+                            speciesChanged = true;
+                        }
+                    }
+                    key.reset();
+                    continue;
+                }
+
+                // Quiet for the debounce period
+                if (dispatch(configChanged, biomesChanged, speciesChanged)) {
+                    configChanged = false;
+                    biomesChanged = false;
+                    speciesChanged = false;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    private boolean dispatch(boolean configChanged, boolean biomesChanged, boolean speciesChanged) {
+        return plugin.getConfigReloader().reload("file_change", configChanged, biomesChanged, speciesChanged, result -> {
+            List<String> changed = new ArrayList<>();
+            if (configChanged) changed.add(CONFIG_FILE);
+            if (biomesChanged) changed.add(BIOME_FILE);
+            if (speciesChanged) changed.add(SPECIES_FILE);
+            String files = String.join(", ", changed);
+            if (!result.isPublished()) {
+                plugin.getLogger().warning("Changes to " + files + " were not applied, fix the errors above");
+                return;
+            }
+
+            ConfigDiff diff = result.getDiff();
+            if (diff.isEmpty()) {
+                plugin.getLogger().info("Reloaded " + files + ", no scaling settings changed");
+            } else {
+                plugin.getLogger().info("Reloaded " + files + ": " + diff.getChangedGlobals().size() + " global settings, " +
+                    diff.getChangedTypes().size() + " mob types, " + diff.getChangedBiomes().size() + " biomes changed; rescaling " +
+                    result.getRescaleChunks() + " chunks");
+            }
+        });
+    }
+}
@@ -1,21 +1,36 @@
 package com.minekarta.realMobScale.managers;
 
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import com.minekarta.realMobScale.RealMobScale;
+import com.minekarta.realMobScale.data.MobData;
+import com.minekarta.realMobScale.data.ScaleProfile;
 
 public class ConfigManager {
     private final RealMobScale plugin;
     private FileConfiguration config;
     private File configFile;
+    private volatile int[] typeGenerations = new int[0];
+    // Parsed settings, swapped as a whole so readers never see a half-applied reload
+    private volatile CompiledConfig compiled;
+    // World UID -> enabled flag and type table, resolved at reload and when worlds load or unload
+    private volatile Map<UUID, WorldState> worldStates = new ConcurrentHashMap<>();
     
     public ConfigManager(RealMobScale plugin) {
         this.plugin = plugin;
@@ -24,14 +39,149 @@ public class ConfigManager {
     }
     
     public void reloadConfig() {
-        if (configFile.exists()) {
-            config = YamlConfiguration.loadConfiguration(configFile);
-        } else {
+        ValidationReport report = new ValidationReport();
+        publish(prepare(MobData.getProfiles(), report));
+        report.log(plugin.getLogger());
+    }
+
+    /**
+     * Read, parse and validate config.yml without touching the live settings
+     * Safe to call from any thread
+     * @param profiles Species profiles to compile the type tables against
+     */
+    Prepared prepare(ScaleProfile[] profiles, ValidationReport report) {
+        if (!configFile.exists()) {
             plugin.saveResource("config.yml", false);
-            config = YamlConfiguration.loadConfiguration(configFile);
         }
+
+        YamlConfiguration loaded = new YamlConfiguration();
+        try {
+            loaded.load(configFile);
+        } catch (IOException | InvalidConfigurationException e) {
+            report.error("config.yml", "(file)", "could not be parsed: " + e.getMessage());
+        }
+        return new Prepared(loaded, new CompiledConfig(loaded, profiles, report));
     }
-    
+
+    /**
+     * Make prepared settings the live configuration (main thread only)
+     */
+    void publish(Prepared prepared) {
+        config = prepared.config;
+        compiled = prepared.compiled;
+        computeTypeGenerations();
+        resolveWorlds();
+    }
+
+    /**
+     * Resolve the enabled flag and type table of every loaded world
+     */
+    private void resolveWorlds() {
+        CompiledConfig current = compiled;
+        Map<UUID, WorldState> states = new ConcurrentHashMap<>();
+        for (World world : Bukkit.getWorlds()) {
+            states.put(world.getUID(), new WorldState(current, world.getName()));
+        }
+        worldStates = states;
+    }
+
+    /**
+     * Resolve the enabled flag and type table of a newly loaded world
+     */
+    public void registerWorld(World world) {
+        worldStates.put(world.getUID(), new WorldState(compiled, world.getName()));
+    }
+
+    /**
+     * Forget the resolved state of an unloaded world
+     */
+    public void unregisterWorld(World world) {
+        worldStates.remove(world.getUID());
+    }
+
+    private WorldState getWorldState(World world) {
+        WorldState state = worldStates.get(world.getUID());
+        // Worlds not seen yet are resolved on the fly
+        return state != null ? state : new WorldState(compiled, world.getName());
+    }
+
+    /**
+     * Hash the settings that determine each entity type's scale into a per-type generation
+     * Content based, so generations are stable across restarts and only change for types
+     * whose effective settings changed
+     */
+    private void computeTypeGenerations() {
+        int globalSignature = getScalingSettings().hashCode();
+        EntityType[] types = EntityType.values();
+        int[] generations = new int[types.length];
+        for (EntityType type : types) {
+            generations[type.ordinal()] = 31 * globalSignature + getTypeSignature(type);
+        }
+        typeGenerations = generations;
+    }
+
+    /**
+     * Get the configuration generation for an entity type in a world, stored in each entity's scale record
+     * A worlds.<name> overlay is folded in, so editing it only invalidates entities in that world
+     */
+    public int getTypeGeneration(World world, EntityType type) {
+        return withOverlay(typeGenerations[type.ordinal()], getWorldState(world).overlay);
+    }
+
+    /**
+     * Get the per-type generations without world overlays, for snapshots; never modify the array
+     */
+    int[] getTypeGenerations() {
+        return typeGenerations;
+    }
+
+    /**
+     * Fold a world's overlay description into a type generation
+     * @param overlay The overlay description, or null if the world has none
+     */
+    static int withOverlay(int typeGeneration, String overlay) {
+        return overlay == null ? typeGeneration : 31 * typeGeneration + overlay.hashCode();
+    }
+
+    /**
+     * Get the overlay of every world with a worlds.<name> section, keyed by world name
+     */
+    public Map<String, String> getWorldOverlays() {
+        return compiled.worldOverlays;
+    }
+
+    /**
+     * Hash of the per-type settings (enabled state, category toggle, custom baby scale and species profile)
+     * Only settings the type table applies are included; custom-scale and custom-health are not
+     * applied, so editing them must not mark entities for a rescale
+     */
+    public int getTypeSignature(EntityType type) {
+        ScaleProfile profile = compiled.profiles[type.ordinal()];
+        int profileSignature = profile == null ? 0
+            : Objects.hash(profile.getRealWorldHeight(), profile.getScaleFactor(), profile.getSpeedMultiplier());
+        return Objects.hash(isTypeEnabled(type), getCustomBabyScale(type), profileSignature);
+    }
+
+    /**
+     * Global settings that affect the scale of every entity type, keyed by config path
+     */
+    public Map<String, Object> getScalingSettings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("settings.enabled", isEnabled());
+        settings.put("settings.scaling-method", useAttributeModifiers() ? "MODIFIER" : "BASE_VALUE");
+        settings.put("realistic.enabled", isRealisticMode());
+        settings.put("realistic.baby-scaling", enableBabyScaling());
+        settings.put("realistic.baby-scale-multiplier", getBabyScaleMultiplier());
+        settings.put("realistic.global-scale-multiplier", getGlobalScaleMultiplier());
+        settings.put("realistic.global-health-multiplier", getGlobalHealthMultiplier());
+        settings.put("realistic.realistic-health", enableRealisticHealth());
+        settings.put("realistic.realistic-speed", enableRealisticSpeed());
+        settings.put("realistic.realistic-damage", enableRealisticDamage());
+        // The lean pipeline skips biome multipliers, so its scales differ from the full pipeline
+        settings.put("realistic.performance-mode", enablePerformanceMode());
+        return settings;
+    }
+
     public FileConfiguration getConfig() {
         if (config == null) {
             reloadConfig();
@@ -50,250 +200,355 @@ public class ConfigManager {
     }
     
     public boolean isEnabled() {
-        return getConfig().getBoolean("settings.enabled", true);
+        return compiled.enabled;
     }
     
     public boolean applyToExisting() {
-        return getConfig().getBoolean("settings.apply-to-existing", false);
+        return compiled.applyToExisting;
     }
     
+    public boolean isInstantScaling() {
+        return compiled.instantScaling;
+    }
+
+    /**
+     * Get the compiled policy for a spawn reason
+     */
+    public SpawnPolicy getSpawnPolicy(CreatureSpawnEvent.SpawnReason reason) {
+        return compiled.spawnPolicies.get(reason);
+    }
+
+    /**
+     * Whether scaling is applied as namespaced AttributeModifiers instead of base-value changes
+     */
+    public boolean useAttributeModifiers() {
+        return compiled.attributeModifiers;
+    }
+
     public boolean isDebug() {
-        return getConfig().getBoolean("settings.debug", false);
+        return compiled.debug;
     }
 
     public boolean isDebugMode() {
         return isDebug();
     }
+
+    public boolean isFileWatcherEnabled() {
+        return compiled.fileWatcher;
+    }
+
+    public long getFileWatcherDebounceMillis() {
+        return compiled.fileWatcherDebounceMillis;
+    }
     
     public String getWorldMode() {
-        return getConfig().getString("worlds.mode", "whitelist");
+        return compiled.worldMode;
     }
     
     public List<String> getWorldList() {
-        List<String> worlds = getConfig().getStringList("worlds.list");
-        if (worlds.isEmpty()) {
-            worlds = new ArrayList<>();
-            worlds.add("world");
-            worlds.add("world_nether");
-            worlds.add("world_the_end");
-        }
-        return worlds;
+        return compiled.worldList;
     }
     
     public boolean isWorldEnabled(String worldName) {
-        List<String> worlds = getWorldList();
-        boolean isInList = worlds.contains(worldName);
-        
         // If mode is whitelist, the world must be in the list to be enabled
         // If mode is blacklist, the world must NOT be in the list to be enabled
-        return "whitelist".equalsIgnoreCase(getWorldMode()) ? isInList : !isInList;
+        CompiledConfig current = compiled;
+        return current.worldSet.contains(worldName) == current.worldWhitelist;
+    }
+
+    /**
+     * Check if scaling is enabled in a world with a single lookup of its resolved flag
+     */
+    public boolean isWorldEnabled(World world) {
+        return getWorldState(world).enabled;
     }
     
     public boolean isMobEnabledByDefault() {
-        return getConfig().getBoolean("mobs.enabled-by-default", true);
+        return compiled.mobEnabledByDefault;
     }
     
     public boolean isMobEnabled(EntityType entityType) {
-        // Check if there's an override for this specific mob
-        String mobName = entityType.name();
-        String overridePath = "mobs.overrides." + mobName + ".enabled";
-        
-        if (getConfig().contains(overridePath)) {
-            return getConfig().getBoolean(overridePath, isMobEnabledByDefault());
-        }
-        
-        // Return default if no override exists
-        return isMobEnabledByDefault();
+        // An override for this specific mob wins over the default
+        Boolean enabled = compiled.mobEnabled.get(entityType);
+        return enabled != null ? enabled : isMobEnabledByDefault();
     }
     
     public double getCustomScale(EntityType entityType) {
-        String mobName = entityType.name();
-        String overridePath = "mobs.overrides." + mobName + ".custom-scale";
-        
-        if (getConfig().contains(overridePath)) {
-            return getConfig().getDouble(overridePath);
-        }
-        
-        // Return -1 if no custom scale is defined, indicating to use default
-        return -1.0;
+        // -1 if no custom scale is defined, indicating to use default
+        Double scale = compiled.customScales.get(entityType);
+        return scale != null ? scale : -1.0;
     }
     
     public double getCustomHealth(EntityType entityType) {
-        String mobName = entityType.name();
-        String overridePath = "mobs.overrides." + mobName + ".custom-health";
-
-        if (getConfig().contains(overridePath)) {
-            return getConfig().getDouble(overridePath);
-        }
-
-        // Return -1 if no custom health is defined, indicating to use default
-        return -1.0;
+        // -1 if no custom health is defined, indicating to use default
+        Double health = compiled.customHealth.get(entityType);
+        return health != null ? health : -1.0;
     }
 
     public double getCustomBabyScale(EntityType entityType) {
-        String mobName = entityType.name();
-        String overridePath = "mobs.overrides." + mobName + ".custom-baby-scale";
-
-        if (getConfig().contains(overridePath)) {
-            return getConfig().getDouble(overridePath);
-        }
-
-        // Return -1 if no custom baby scale is defined, indicating to use default
-        return -1.0;
+        // -1 if no custom baby scale is defined, indicating to use default
+        Double scale = compiled.customBabyScales.get(entityType);
+        return scale != null ? scale : -1.0;
     }
     
-    public int getCheckInterval() {
-        return getConfig().getInt("performance.check-interval", 100);
+    public int getDrainInterval() {
+        return compiled.drainInterval;
     }
     
     public int getMaxProcessingPerTick() {
-        return getConfig().getInt("performance.max-processing-per-tick", 10);
+        return compiled.maxProcessingPerTick;
+    }
+
+    public long getMaxProcessingNanosPerTick() {
+        return compiled.maxProcessingNanosPerTick;
+    }
+
+    public int getMaxQueueSize() {
+        return compiled.maxQueueSize;
+    }
+
+    public int getGrowthBatchSize() {
+        return compiled.growthBatchSize;
+    }
+
+    public boolean isPrioritizeNearPlayers() {
+        return compiled.prioritizeNearPlayers;
+    }
+
+    public boolean isSpawnerCacheEnabled() {
+        return compiled.spawnerCache;
+    }
+
+    public boolean isGroupBatchingEnabled() {
+        return compiled.groupBatching;
+    }
+
+    public double getGroupSizeVariation() {
+        return compiled.groupSizeVariation;
+    }
+
+    public boolean isAsyncDecisionsEnabled() {
+        return compiled.asyncDecisions;
+    }
+
+    public int getDecisionThreads() {
+        return compiled.decisionThreads;
+    }
+
+    public boolean isSpawnStormEnabled() {
+        return compiled.spawnStorm;
+    }
+
+    public int getSpawnStormThreshold() {
+        return compiled.spawnStormThreshold;
+    }
+
+    public boolean isAdaptiveBudgetEnabled() {
+        return compiled.adaptiveBudget;
+    }
+
+    public double getAdaptiveTargetMspt() {
+        return compiled.adaptiveTargetMspt;
+    }
+
+    public double getAdaptiveRecoverMspt() {
+        return compiled.adaptiveRecoverMspt;
+    }
+
+    public double getAdaptiveMinBudgetFactor() {
+        return compiled.adaptiveMinBudgetFactor;
+    }
+
+    public double getAdaptiveShrinkFactor() {
+        return compiled.adaptiveShrinkFactor;
+    }
+
+    public double getAdaptiveGrowFactor() {
+        return compiled.adaptiveGrowFactor;
     }
     
     public boolean respectOtherPlugins() {
-        return getConfig().getBoolean("compatibility.respect-other-plugins", true);
+        return compiled.respectOtherPlugins;
     }
     
     public List<String> getCheckedPlugins() {
-        return getConfig().getStringList("compatibility.checked-plugins");
+        return compiled.checkedPlugins;
     }
 
     // ==================== REALISTIC SETTINGS ====================
 
     public boolean isRealisticMode() {
-        return getConfig().getBoolean("realistic.enabled", true);
+        return compiled.realisticMode;
     }
 
     public boolean enableBabyScaling() {
-        return getConfig().getBoolean("realistic.baby-scaling", true);
+        return compiled.babyScaling;
     }
 
     public double getBabyScaleMultiplier() {
-        return getConfig().getDouble("realistic.baby-scale-multiplier", 1.0);
+        return compiled.babyScaleMultiplier;
+    }
+
+    public boolean isGrowthRescalingEnabled() {
+        return compiled.growthRescaling;
+    }
+
+    public int getGrowthInterpolationSteps() {
+        return compiled.growthInterpolationSteps;
     }
 
     public boolean enableRealisticHealth() {
-        return getConfig().getBoolean("realistic.realistic-health", true);
+        return compiled.realisticHealth;
     }
 
     public boolean enableRealisticSpeed() {
-        return getConfig().getBoolean("realistic.realistic-speed", true);
+        return compiled.realisticSpeed;
     }
 
     public boolean enableRealisticDamage() {
-        return getConfig().getBoolean("realistic.realistic-damage", true);
+        return compiled.realisticDamage;
     }
 
     public boolean showDetailedInfo() {
-        return getConfig().getBoolean("realistic.show-detailed-info", false);
+        return compiled.showDetailedInfo;
     }
 
     public double getGlobalScaleMultiplier() {
-        return getConfig().getDouble("realistic.global-scale-multiplier", 1.0);
+        return compiled.globalScaleMultiplier;
     }
 
     public double getGlobalHealthMultiplier() {
-        return getConfig().getDouble("realistic.global-health-multiplier", 1.0);
+        return compiled.globalHealthMultiplier;
     }
 
     public boolean enableSizeCategories() {
-        return getConfig().getBoolean("realistic.enable-size-categories", true);
+        return compiled.sizeCategories;
     }
 
     public boolean respectWorldBorders() {
-        return getConfig().getBoolean("realistic.respect-world-borders", true);
+        return compiled.respectWorldBorders;
     }
 
     public String getLoggingLevel() {
-        return getConfig().getString("realistic.logging-level", "INFO").toUpperCase();
+        return compiled.loggingLevel;
     }
 
     public boolean enablePerformanceMode() {
-        return getConfig().getBoolean("realistic.performance-mode", false);
+        return compiled.performanceMode;
+    }
+
+    /**
+     * Write a performance mode toggle to config.yml without touching the live settings
+     * Safe to call from any thread; the change takes effect when the file is reloaded
+     */
+    void writePerformanceMode(boolean enabled, ValidationReport report) {
+        YamlConfiguration file = new YamlConfiguration();
+        try {
+            file.load(configFile);
+            file.set("realistic.performance-mode", enabled);
+            file.save(configFile);
+        } catch (IOException | InvalidConfigurationException e) {
+            report.error("config.yml", "realistic.performance-mode", "could not be saved: " + e.getMessage());
+        }
     }
 
     public int getMaxMobsPerChunk() {
-        return getConfig().getInt("realistic.max-mobs-per-chunk", 50);
+        return compiled.maxMobsPerChunk;
     }
 
     // ==================== CATEGORY SETTINGS ====================
 
     public boolean areAnimalsEnabled() {
-        return getConfig().getBoolean("categories.animals.enabled", true);
+        return compiled.animals;
     }
 
     public boolean areWaterCreaturesEnabled() {
-        return getConfig().getBoolean("categories.water-creatures.enabled", true);
+        return compiled.waterCreatures;
     }
 
     public boolean areFlyingCreaturesEnabled() {
-        return getConfig().getBoolean("categories.flying-creatures.enabled", true);
+        return compiled.flyingCreatures;
     }
 
     public boolean areArthropodsEnabled() {
-        return getConfig().getBoolean("categories.arthropods.enabled", true);
+        return compiled.arthropods;
     }
 
     // ==================== UTILITY METHODS ====================
 
     public boolean shouldScaleEntity(org.bukkit.entity.Entity entity) {
-        EntityType type = entity.getType();
-
-        // Check if basic scaling is enabled for this entity type
-        if (!isMobEnabled(type)) {
-            return false;
-        }
-
-        // Check category settings
-        if (isAnimal(type) && !areAnimalsEnabled()) return false;
-        if (isWaterCreature(type) && !areWaterCreaturesEnabled()) return false;
-        if (isFlyingCreature(type) && !areFlyingCreaturesEnabled()) return false;
-        if (isArthropod(type) && !areArthropodsEnabled()) return false;
-
-        return true;
+        return isTypeEnabled(entity.getType());
     }
 
-    private boolean isAnimal(EntityType type) {
-        return switch (type.name()) {
-            case "COW", "PIG", "SHEEP", "CHICKEN", "RABBIT", "HORSE", "DONKEY", "MULE",
-                 "LLAMA", "TRADER_LLAMA", "CAMEL", "CAT", "OCELOT", "WOLF", "FOX", "PARROT",
-                 "TURTLE", "AXOLOTL", "FROG", "GOAT", "PANDA", "POLAR_BEAR" -> true;
-            default -> false;
-        };
+    /**
+     * Check the mob override and category toggles for an entity type
+     */
+    public boolean isTypeEnabled(EntityType type) {
+        return compiled.types.get(type).enabled;
     }
 
-    private boolean isWaterCreature(EntityType type) {
-        return switch (type.name()) {
-            case "COD", "SALMON", "TROPICAL_FISH", "PUFFERFISH", "SQUID", "GLOW_SQUID",
-                 "DOLPHIN", "TURTLE", "AXOLOTL" -> true;
-            default -> false;
-        };
+    /**
+     * Get the live compiled settings, for snapshots read off the main thread
+     */
+    CompiledConfig getCompiled() {
+        return compiled;
     }
 
-    private boolean isFlyingCreature(EntityType type) {
-        return switch (type.name()) {
-            case "BAT", "PARROT", "BEE" -> true;
-            default -> false;
-        };
+    /**
+     * Get the precomputed scaling values of an entity type, without any world overlay
+     */
+    EntityTypeTable.Entry getTypeEntry(EntityType type) {
+        return compiled.types.get(type);
     }
 
-    private boolean isArthropod(EntityType type) {
-        return switch (type.name()) {
-            case "SPIDER", "CAVE_SPIDER", "SILVERFISH", "BEE" -> true;
-            default -> false;
-        };
+    /**
+     * Get the precomputed scaling values of an entity from its world's table
+     */
+    EntityTypeTable.Entry getTypeEntry(org.bukkit.entity.LivingEntity entity) {
+        return getWorldState(entity.getWorld()).types.get(entity.getType());
     }
 
     /**
      * Check if a living entity should be scaled
      */
     public boolean shouldScaleEntity(org.bukkit.entity.LivingEntity entity) {
+        WorldState state = getWorldState(entity.getWorld());
         // Check if the entity is in an enabled world
-        if (!isWorldEnabled(entity.getWorld().getName())) {
+        if (!state.enabled) {
             return false;
         }
 
-        // Use the existing entity checking method
-        return shouldScaleEntity((org.bukkit.entity.Entity) entity);
+        return state.types.get(entity.getType()).enabled;
+    }
+
+    /**
+     * Parsed and validated config.yml, not yet live
+     */
+    static final class Prepared {
+        private final FileConfiguration config;
+        private final CompiledConfig compiled;
+
+        private Prepared(FileConfiguration config, CompiledConfig compiled) {
+            this.config = config;
+            this.compiled = compiled;
+        }
+    }
+
+    /**
+     * Enabled flag and type table of one world, resolved against a compiled configuration
+     */
+    private static final class WorldState {
+        private final boolean enabled;
+        private final EntityTypeTable types;
+        // Description of the world's overlay, or null if it has none
+        private final String overlay;
+
+        private WorldState(CompiledConfig config, String worldName) {
+            // If mode is whitelist, the world must be in the list to be enabled
+            // If mode is blacklist, the world must NOT be in the list to be enabled
+            this.enabled = config.worldSet.contains(worldName) == config.worldWhitelist;
+            this.types = config.worldTypes.getOrDefault(worldName, config.types);
+            this.overlay = config.worldOverlays.get(worldName);
+        }
     }
 }
\ No newline at end of file
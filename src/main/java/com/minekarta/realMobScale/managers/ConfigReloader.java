@@ -0,0 +1,175 @@
+package com.minekarta.realMobScale.managers;
+
+import com.minekarta.realMobScale.RealMobScale;
+import com.minekarta.realMobScale.data.MobData;
+import com.minekarta.realMobScale.data.ScaleProfile;
+import com.minekarta.realMobScale.events.MobScaleConfigReloadEvent;
+import com.minekarta.realMobScale.utils.FoliaScheduler;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Reloads config.yml, biome_scaling.yml and species.yml without stalling a tick
+ * The files are read, parsed, validated and compiled on a background thread. The result is
+ * published in one step on the main thread, or discarded if validation found errors
+ */
+public class ConfigReloader {
+    private final RealMobScale plugin;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    public ConfigReloader(RealMobScale plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Start a reload of all files
+     * @param source Name reported in the MobScaleConfigReloadEvent
+     * @param callback Run on the main thread once the reload finished or was rejected
+     * @return false if a reload is already running
+     */
+    public boolean reload(String source, Consumer<Result> callback) {
+        return reload(source, true, true, true, callback);
+    }
+
+    /**
+     * Start a reload of the given files; the others keep their live settings
+     * config.yml is always recompiled with new species, since its type tables hold the profiles
+     * @param source Name reported in the MobScaleConfigReloadEvent
+     * @param callback Run on the main thread once the reload finished or was rejected
+     * @return false if a reload is already running
+     */
+    public boolean reload(String source, boolean reloadConfig, boolean reloadBiomes, boolean reloadSpecies,
+                          Consumer<Result> callback) {
+        return reload(source, report -> { }, reloadConfig, reloadBiomes, reloadSpecies, callback);
+    }
+
+    /**
+     * Toggle realistic.performance-mode: write it to config.yml and reload that file
+     * Runs through the regular reload, so the change is diffed, announced and rescaled like an edit
+     * @param source Name reported in the MobScaleConfigReloadEvent
+     * @param callback Run on the main thread once the reload finished or was rejected
+     * @return false if a reload is already running
+     */
+    public boolean setPerformanceMode(boolean enabled, String source, Consumer<Result> callback) {
+        return reload(source, report -> plugin.getConfigManager().writePerformanceMode(enabled, report),
+            true, false, false, callback);
+    }
+
+    private boolean reload(String source, Consumer<ValidationReport> beforePrepare, boolean reloadConfig,
+                           boolean reloadBiomes, boolean reloadSpecies, Consumer<Result> callback) {
+        if (!reloading.compareAndSet(false, true)) {
+            return false;
+        }
+
+        FoliaScheduler.runAsync(plugin, () -> {
+            ValidationReport report = new ValidationReport();
+            SpeciesManager.Prepared species = null;
+            ConfigManager.Prepared config = null;
+            BiomeScalingManager.Prepared biomes = null;
+            try {
+                beforePrepare.accept(report);
+                if (reloadSpecies) {
+                    species = plugin.getSpeciesManager().prepare(report);
+                }
+                if (reloadConfig || reloadSpecies) {
+                    ScaleProfile[] profiles = species != null ? species.getProfiles() : MobData.getProfiles();
+                    config = plugin.getConfigManager().prepare(profiles, report);
+                }
+                if (reloadBiomes) {
+                    biomes = plugin.getBiomeScalingManager().prepare(report);
+                }
+            } catch (RuntimeException e) {
+                report.error(reloadBiomes && !reloadConfig ? "biome_scaling.yml" : "config.yml", "(file)",
+                    "could not be loaded: " + e);
+            }
+
+            SpeciesManager.Prepared preparedSpecies = species;
+            ConfigManager.Prepared preparedConfig = config;
+            BiomeScalingManager.Prepared preparedBiomes = biomes;
+            FoliaScheduler.runGlobal(plugin, () -> {
+                try {
+                    report.log(plugin.getLogger());
+                    callback.accept(report.hasErrors() ? new Result(report, null, 0)
+                        : publish(source, report, preparedSpecies, preparedConfig, preparedBiomes));
+                } finally {
+                    reloading.set(false);
+                }
+            });
+        });
+        return true;
+    }
+
+    /**
+     * Check if a reload is being prepared
+     */
+    public boolean isReloading() {
+        return reloading.get();
+    }
+
+    /**
+     * Swap in the prepared files and act on what changed (main thread only)
+     */
+    private Result publish(String source, ValidationReport report, SpeciesManager.Prepared species,
+                           ConfigManager.Prepared config, BiomeScalingManager.Prepared biomes) {
+        // Snapshot the compiled settings before and after so only real changes are acted on
+        ConfigDiff.Snapshot before = ConfigDiff.Snapshot.capture(
+            plugin.getConfigManager(), plugin.getBiomeScalingManager(), plugin.getServer().getWorlds());
+        boolean appliedToExisting = plugin.getConfigManager().applyToExisting();
+
+        if (species != null) {
+            plugin.getSpeciesManager().publish(species);
+        }
+        if (config != null) {
+            plugin.getConfigManager().publish(config);
+        }
+        if (biomes != null) {
+            plugin.getBiomeScalingManager().publish(biomes);
+        }
+
+        // Restart the scaling queue so a changed drain interval takes effect
+        plugin.getScalingQueueManager().start();
+        plugin.getConfigFileWatcher().start();
+
+        // World and type toggles are not part of the generation, so drop memoized spawner decisions
+        plugin.getSpawnerDecisionCache().clear();
+
+        ConfigDiff.Snapshot after = ConfigDiff.Snapshot.capture(
+            plugin.getConfigManager(), plugin.getBiomeScalingManager(), plugin.getServer().getWorlds());
+        ConfigDiff diff = ConfigDiff.between(before, after);
+
+        // Fire configuration reload event with the full change set
+        plugin.getServer().getPluginManager().callEvent(new MobScaleConfigReloadEvent(source, diff.toChangedSettings()));
+
+        // Rescale only the live entities the change affects, spread over ticks
+        int rescaleChunks = plugin.getMobScaleManager().rescaleForDiff(diff);
+        // Loaded chunks were already covered while apply-to-existing was on; only a fresh enable needs the full pass
+        if (!appliedToExisting && plugin.getConfigManager().applyToExisting()) {
+            plugin.getMobScaleManager().applyScalingToExistingEntities();
+        }
+        return new Result(report, diff, rescaleChunks);
+    }
+
+    /**
+     * Outcome of one reload
+     */
+    public static class Result {
+        private final ValidationReport report;
+        private final ConfigDiff diff;
+        private final int rescaleChunks;
+
+        private Result(ValidationReport report, ConfigDiff diff, int rescaleChunks) {
+            this.report = report;
+            this.diff = diff;
+            this.rescaleChunks = rescaleChunks;
+        }
+
+        /**
+         * Check if the new settings were published; false if validation found errors
+         */
+        public boolean isPublished() { return diff != null; }
+        public ValidationReport getReport() { return report; }
+        public ConfigDiff getDiff() { return diff; }
+        public int getRescaleChunks() { return rescaleChunks; }
+    }
+}
@@ -0,0 +1,92 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.Registry;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.EntityType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable copy of everything a scaling decision depends on
+ * Compiled on the main thread from the live configuration and then read by decision workers
+ * without touching YAML, the world or any other mutable state.
+ * World enablement and the world's type table are resolved here, so the main thread only
+ * captures the entity's type, age, world name and biome
+ */
+public final class DecisionSnapshot {
+    private final CompiledConfig config;
+    // Per-type generations without world overlays, compiled together with the config above
+    private final int[] typeGenerations;
+    private final boolean[] biomeApplies;
+    // Upper-case biome key -> resolved multiplier, family matches included
+    private final Map<String, Double> biomeMultipliers;
+
+    private DecisionSnapshot(CompiledConfig config, int[] typeGenerations, boolean[] biomeApplies,
+                             Map<String, Double> biomeMultipliers) {
+        this.config = config;
+        this.typeGenerations = typeGenerations;
+        this.biomeApplies = biomeApplies;
+        this.biomeMultipliers = biomeMultipliers;
+    }
+
+    /**
+     * Compile a snapshot of the current configuration (main thread only)
+     */
+    public static DecisionSnapshot compile(ConfigManager configManager, BiomeScalingManager biomeManager) {
+        EntityType[] types = EntityType.values();
+        boolean[] biomeApplies = new boolean[types.length];
+        // The lean pipeline skips biome multipliers, so decisions do too in performance mode
+        boolean biomes = !configManager.enablePerformanceMode();
+
+        for (EntityType type : types) {
+            int ordinal = type.ordinal();
+            biomeApplies[ordinal] = biomes && biomeManager.appliesToEntity(type.name());
+        }
+
+        Map<String, Double> biomeMultipliers = new HashMap<>();
+        if (biomes && biomeManager.isBiomeScalingEnabled()) {
+            for (Biome biome : Registry.BIOME) {
+                String key = biome.getKey().getKey().toUpperCase();
+                double multiplier = biomeManager.getBiomeMultiplier(key);
+                if (multiplier != 1.0) {
+                    biomeMultipliers.put(key, multiplier);
+                }
+            }
+        }
+
+        return new DecisionSnapshot(configManager.getCompiled(), configManager.getTypeGenerations(), biomeApplies,
+            biomeMultipliers);
+    }
+
+    /**
+     * Decide how an entity of the given type, age, world and biome is scaled
+     * Pure function of its arguments and this snapshot, safe to call from any thread
+     * @param worldName Name of the entity's world
+     * @param biome Biome at the entity's position
+     * @return the decision; its profile is null if the entity is not scaled
+     */
+    ScaleDecision decide(EntityType type, boolean baby, String worldName, Biome biome) {
+        int ordinal = type.ordinal();
+        int typeGeneration = ConfigManager.withOverlay(typeGenerations[ordinal], config.worldOverlays.get(worldName));
+        // If mode is whitelist, the world must be in the list to be enabled
+        // If mode is blacklist, the world must NOT be in the list to be enabled
+        EntityTypeTable.Entry entry = config.worldSet.contains(worldName) == config.worldWhitelist
+            ? config.worldTypes.getOrDefault(worldName, config.types).get(type) : null;
+        if (entry == null || !entry.enabled || entry.profile == null) {
+            return new ScaleDecision(type, baby, typeGeneration, MobScaleManager.combineGenerations(typeGeneration, 1.0),
+                null, 1.0, null);
+        }
+
+        double biomeMultiplier = biomeApplies[ordinal] && !biomeMultipliers.isEmpty()
+            ? biomeMultipliers.getOrDefault(biome.getKey().getKey().toUpperCase(), 1.0) : 1.0;
+        int generation = MobScaleManager.combineGenerations(typeGeneration, biomeMultiplier);
+        if (biomeMultiplier == 1.0) {
+            return new ScaleDecision(type, baby, typeGeneration, generation, entry.profile, entry.getScale(baby),
+                entry.getMultipliers(baby));
+        }
+        double scaleFactor = entry.getScale(baby) * biomeMultiplier;
+        return new ScaleDecision(type, baby, typeGeneration, generation, entry.profile, scaleFactor,
+            entry.getMultipliers(baby, scaleFactor));
+    }
+}
@@ -0,0 +1,207 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import com.minekarta.realMobScale.RealMobScale;
+import com.minekarta.realMobScale.utils.FoliaScheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Computes scaling decisions on background threads
+ * The main thread captures an entity's type, age, world name and biome, a worker resolves the
+ * world's enablement and type entry and turns them into a {@link ScaleDecision} against the
+ * {@link DecisionSnapshot} compiled at the last reload, and the scaling queue
+ * applies the finished decisions in batch on its next drain
+ *
+ * Not used on Folia, where scaling already runs on the region threads
+ */
+public class DecisionWorkerPool {
+    private final RealMobScale plugin;
+    private final ConfigManager configManager;
+    // Finished decisions waiting for the main thread
+    private final Queue<ComputedDecision> completed;
+    private final AtomicInteger inFlight;
+    private ExecutorService executor;
+    private int poolSize;
+    private volatile DecisionSnapshot snapshot;
+    // Bumped by stop() so decisions from tasks still running at that point are dropped
+    private volatile int epoch;
+
+    // Statistics
+    private final LongAdder totalComputed = new LongAdder();
+    private long totalRecompiles;
+
+    public DecisionWorkerPool(RealMobScale plugin, ConfigManager configManager) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.completed = new ConcurrentLinkedQueue<>();
+        this.inFlight = new AtomicInteger();
+    }
+
+    /**
+     * Start (or restart) the workers and compile a fresh snapshot
+     * Called after every reload, so decisions always see the latest configuration.
+     * Replaced workers finish their tasks, whose decisions are still applied
+     */
+    public void start() {
+        if (!configManager.isAsyncDecisionsEnabled() || FoliaScheduler.isFolia()) {
+            shutdownExecutor();
+            return;
+        }
+
+        recompile();
+        int threads = configManager.getDecisionThreads();
+        if (executor != null && poolSize == threads) {
+            return;
+        }
+
+        shutdownExecutor();
+        AtomicInteger threadId = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "RealMobScale-Decision-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        poolSize = threads;
+    }
+
+    private void shutdownExecutor() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Stop the workers and discard unfinished decisions
+     * Tasks that are still running finish into the next epoch and are dropped when polled.
+     * The entities fall back to normal scaling if they are offered again
+     */
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        epoch++;
+        completed.clear();
+        inFlight.set(0);
+    }
+
+    /**
+     * Check if decisions are currently computed off the main thread
+     */
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Capture an entity's state and hand its decision to a worker (main thread only)
+     * @return true if the entity was submitted, false if it must be scaled synchronously
+     */
+    public boolean submit(LivingEntity entity, String debugMessage) {
+        if (executor == null) {
+            return false;
+        }
+
+        // Only plain field reads and a palette lookup here; everything else runs in the worker.
+        // A decision made against an outdated snapshot fails its generation check when applied
+        EntityType type = entity.getType();
+        boolean baby = plugin.getMobScaleManager().isBabyAnimal(entity);
+        World world = entity.getWorld();
+        String worldName = world.getName();
+        Biome biome = world.getBiome((int) Math.floor(entity.getX()), (int) Math.floor(entity.getY()),
+            (int) Math.floor(entity.getZ()));
+        DecisionSnapshot current = snapshot;
+        int submitEpoch = epoch;
+        try {
+            inFlight.incrementAndGet();
+            executor.execute(() -> {
+                completed.add(new ComputedDecision(entity, debugMessage,
+                    current.decide(type, baby, worldName, biome), submitEpoch));
+                totalComputed.increment();
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * Take the next finished decision, or null if none is ready (main thread only)
+     * Decisions submitted before the last stop are discarded
+     */
+    public ComputedDecision poll() {
+        ComputedDecision decision;
+        while ((decision = completed.poll()) != null) {
+            if (decision.epoch == epoch) {
+                inFlight.decrementAndGet();
+                return decision;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if finished decisions are waiting to be applied
+     */
+    public boolean hasCompleted() {
+        return !completed.isEmpty();
+    }
+
+    private void recompile() {
+        snapshot = DecisionSnapshot.compile(configManager, plugin.getBiomeScalingManager());
+        totalRecompiles++;
+    }
+
+    /**
+     * Get the number of decisions submitted but not yet applied
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the number of decisions computed by the workers
+     */
+    public long getTotalComputed() {
+        return totalComputed.sum();
+    }
+
+    /**
+     * Get the number of snapshots compiled
+     */
+    public long getTotalRecompiles() {
+        return totalRecompiles;
+    }
+
+    /**
+     * Decision computed by a worker for one entity
+     */
+    public static class ComputedDecision {
+        private final LivingEntity entity;
+        private final String debugMessage;
+        private final ScaleDecision decision;
+        private final int epoch;
+
+        private ComputedDecision(LivingEntity entity, String debugMessage, ScaleDecision decision, int epoch) {
+            this.entity = entity;
+            this.debugMessage = debugMessage;
+            this.decision = decision;
+            this.epoch = epoch;
+        }
+
+        public LivingEntity getEntity() { return entity; }
+        public String getDebugMessage() { return debugMessage; }
+        public ScaleDecision getDecision() { return decision; }
+    }
+}
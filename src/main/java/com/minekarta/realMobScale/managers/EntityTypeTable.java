@@ -0,0 +1,237 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.EntityType;
+import com.minekarta.realMobScale.data.ScaleProfile;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-EntityType scaling table indexed by ordinal, built with every compiled configuration
+ * Folds the mob overrides, category toggles, baby settings and global multipliers into final
+ * values, so checking or scaling a type is a single array read.
+ * Worlds with a worlds.<name> overlay get their own table with the overlay merged in
+ */
+final class EntityTypeTable {
+    // Category bits
+    static final int ANIMAL = 1;
+    static final int WATER_CREATURE = 1 << 1;
+    static final int FLYING_CREATURE = 1 << 2;
+    static final int ARTHROPOD = 1 << 3;
+
+    private final Entry[] entries;
+
+    EntityTypeTable(CompiledConfig config) {
+        this(config, null, null);
+    }
+
+    /**
+     * Build a table with a world overlay merged over the global settings
+     * @param overlay The worlds.<name> section, or null for the global table
+     * @param report Receives problems found in the overlay
+     */
+    EntityTypeTable(CompiledConfig config, ConfigurationSection overlay, ValidationReport report) {
+        Settings settings = new Settings(config, overlay, report);
+        EntityType[] types = EntityType.values();
+        entries = new Entry[types.length];
+        for (EntityType type : types) {
+            entries[type.ordinal()] = new Entry(type, settings);
+        }
+    }
+
+    Entry get(EntityType type) {
+        return entries[type.ordinal()];
+    }
+
+    /**
+     * Compute health, damage and speed multipliers for a scale factor
+     * Health and damage follow the size relative to the profile's own scale
+     * @return the health, damage and speed multipliers, in that order
+     */
+    static double[] computeMultipliers(ScaleProfile profile, double scaleFactor, boolean baby, double globalHealth) {
+        // Calculate size multiplier based on the actual scale factor applied
+        double sizeMultiplier = scaleFactor / profile.getScaleFactor();
+
+        // Adjust health based on size (larger animals = more health)
+        double healthMultiplier = profile.getHealthMultiplier() * sizeMultiplier * globalHealth;
+
+        // Adjust damage based on size
+        double damageMultiplier = profile.getDamageMultiplier() * sizeMultiplier;
+
+        // Adjust movement speed based on size (smaller = faster, larger = slower)
+        double speedMultiplier = profile.getSpeedMultiplier();
+        if (baby) {
+            // Babies are typically more energetic and playful
+            // But still proportional to their size
+            speedMultiplier *= 1.15; // Slightly faster than adults, but not too much
+        }
+
+        return new double[] { healthMultiplier, damageMultiplier, speedMultiplier };
+    }
+
+    private static int categoriesOf(EntityType type) {
+        int categories = 0;
+        switch (type.name()) {
+            case "COW", "PIG", "SHEEP", "CHICKEN", "RABBIT", "HORSE", "DONKEY", "MULE",
+                 "LLAMA", "TRADER_LLAMA", "CAMEL", "CAT", "OCELOT", "WOLF", "FOX", "PARROT",
+                 "TURTLE", "AXOLOTL", "FROG", "GOAT", "PANDA", "POLAR_BEAR" -> categories |= ANIMAL;
+            default -> { }
+        }
+        switch (type.name()) {
+            case "COD", "SALMON", "TROPICAL_FISH", "PUFFERFISH", "SQUID", "GLOW_SQUID",
+                 "DOLPHIN", "TURTLE", "AXOLOTL" -> categories |= WATER_CREATURE;
+            default -> { }
+        }
+        switch (type.name()) {
+            case "BAT", "PARROT", "BEE" -> categories |= FLYING_CREATURE;
+            default -> { }
+        }
+        switch (type.name()) {
+            case "SPIDER", "CAVE_SPIDER", "SILVERFISH", "BEE" -> categories |= ARTHROPOD;
+            default -> { }
+        }
+        return categories;
+    }
+
+    /**
+     * Settings a table is built from; the global values with an optional overlay on top
+     */
+    private static final class Settings {
+        final boolean mobEnabledByDefault;
+        final Map<EntityType, Boolean> mobEnabled;
+        final Map<EntityType, Double> customBabyScales;
+        final boolean animals;
+        final boolean waterCreatures;
+        final boolean flyingCreatures;
+        final boolean arthropods;
+        final double globalScaleMultiplier;
+        final double globalHealthMultiplier;
+        final double babyScaleMultiplier;
+        final ScaleProfile[] profiles;
+
+        private Settings(CompiledConfig config, ConfigurationSection overlay, ValidationReport report) {
+            profiles = config.profiles;
+            if (overlay == null) {
+                mobEnabledByDefault = config.mobEnabledByDefault;
+                mobEnabled = config.mobEnabled;
+                customBabyScales = config.customBabyScales;
+                animals = config.animals;
+                waterCreatures = config.waterCreatures;
+                flyingCreatures = config.flyingCreatures;
+                arthropods = config.arthropods;
+                globalScaleMultiplier = config.globalScaleMultiplier;
+                globalHealthMultiplier = config.globalHealthMultiplier;
+                babyScaleMultiplier = config.babyScaleMultiplier;
+                return;
+            }
+
+            mobEnabledByDefault = overlay.getBoolean("mobs.enabled-by-default", config.mobEnabledByDefault);
+            mobEnabled = new EnumMap<>(config.mobEnabled);
+            customBabyScales = new EnumMap<>(config.customBabyScales);
+            ConfigurationSection overrides = overlay.getConfigurationSection("mobs.overrides");
+            if (overrides != null) {
+                for (String name : overrides.getKeys(false)) {
+                    EntityType type = CompiledConfig.parseEntityType(name, overrides.getCurrentPath() + "." + name, report);
+                    ConfigurationSection override = overrides.getConfigurationSection(name);
+                    if (type == null || override == null) {
+                        continue;
+                    }
+                    if (override.contains("enabled")) {
+                        mobEnabled.put(type, override.getBoolean("enabled", mobEnabledByDefault));
+                    }
+                    if (override.contains("custom-baby-scale")) {
+                        customBabyScales.put(type, CompiledConfig.getDouble(override, "custom-baby-scale", -1.0, -1.0, 100.0, report));
+                    }
+                }
+            }
+
+            animals = overlay.getBoolean("categories.animals.enabled", config.animals);
+            waterCreatures = overlay.getBoolean("categories.water-creatures.enabled", config.waterCreatures);
+            flyingCreatures = overlay.getBoolean("categories.flying-creatures.enabled", config.flyingCreatures);
+            arthropods = overlay.getBoolean("categories.arthropods.enabled", config.arthropods);
+            globalScaleMultiplier = CompiledConfig.getDouble(overlay, "global-scale-multiplier", config.globalScaleMultiplier, 0.01, 100.0, report);
+            globalHealthMultiplier = CompiledConfig.getDouble(overlay, "global-health-multiplier", config.globalHealthMultiplier, 0.01, 100.0, report);
+            babyScaleMultiplier = CompiledConfig.getDouble(overlay, "baby-scale-multiplier", config.babyScaleMultiplier, 0.01, 100.0, report);
+        }
+    }
+
+    /**
+     * Final scaling values of one entity type
+     */
+    static final class Entry {
+        // Mob override and category toggles combined
+        final boolean enabled;
+        final int categories;
+        // Null if the type has no real-world profile
+        final ScaleProfile profile;
+        final double adultScale;
+        final double babyScale;
+        // Health, damage and speed multipliers at the adult and baby scale
+        final double[] adultMultipliers;
+        final double[] babyMultipliers;
+        private final double globalHealth;
+
+        private Entry(EntityType type, Settings config) {
+            categories = categoriesOf(type);
+            Boolean override = config.mobEnabled.get(type);
+            boolean mobEnabled = override != null ? override : config.mobEnabledByDefault;
+            enabled = mobEnabled
+                && ((categories & ANIMAL) == 0 || config.animals)
+                && ((categories & WATER_CREATURE) == 0 || config.waterCreatures)
+                && ((categories & FLYING_CREATURE) == 0 || config.flyingCreatures)
+                && ((categories & ARTHROPOD) == 0 || config.arthropods);
+
+            profile = config.profiles[type.ordinal()];
+            globalHealth = config.globalHealthMultiplier;
+            if (profile == null) {
+                adultScale = 1.0;
+                babyScale = 1.0;
+                adultMultipliers = null;
+                babyMultipliers = null;
+                return;
+            }
+
+            adultScale = profile.getScaleFactor() * config.globalScaleMultiplier;
+            Double customBabyScale = config.customBabyScales.get(type);
+            if (customBabyScale != null && customBabyScale > 0) {
+                // Custom baby scale with the global baby multiplier
+                babyScale = adultScale * customBabyScale * config.babyScaleMultiplier;
+            } else {
+                babyScale = profile.getBabyAdjustedScale(config.babyScaleMultiplier) * config.globalScaleMultiplier;
+            }
+            adultMultipliers = computeMultipliers(profile, adultScale, false, globalHealth);
+            babyMultipliers = computeMultipliers(profile, babyScale, true, globalHealth);
+        }
+
+        double getScale(boolean baby) {
+            return baby ? babyScale : adultScale;
+        }
+
+        /**
+         * Get the precomputed multipliers at the type's own scale; never modify the array
+         */
+        double[] getMultipliers(boolean baby) {
+            return baby ? babyMultipliers : adultMultipliers;
+        }
+
+        /**
+         * Get multipliers for a scale that differs from the type's own (biome, variation)
+         */
+        double[] getMultipliers(boolean baby, double scaleFactor) {
+            double[] base = getMultipliers(baby);
+            double ratio = scaleFactor / getScale(baby);
+            return new double[] { base[0] * ratio, base[1] * ratio, base[2] };
+        }
+
+        /**
+         * Get multipliers for a profile that may have been replaced by a MobScaleEvent listener
+         */
+        double[] getMultipliers(ScaleProfile scaledProfile, boolean baby, double scaleFactor) {
+            if (scaledProfile == profile) {
+                return getMultipliers(baby, scaleFactor);
+            }
+            return computeMultipliers(scaledProfile, scaleFactor, baby, globalHealth);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.entity.Breedable;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.scheduler.BukkitTask;
+import com.minekarta.realMobScale.RealMobScale;
+import com.minekarta.realMobScale.utils.FoliaScheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rescales scaled babies when they grow up
+ * Babies are indexed by the tick they are expected to mature, bucketed per second, so each
+ * check only touches the buckets that are due instead of polling every entity
+ *
+ * With realistic.growth-interpolation-steps above zero, babies are also revisited at
+ * evenly spaced points of their growth and their size is interpolated towards the adult scale
+ *
+ * On Folia there is no global check: each visit is scheduled on the baby's own entity scheduler
+ */
+public class GrowthTracker {
+    // Ticks between checks, also the width of a maturity bucket
+    private static final int CHECK_INTERVAL = 20;
+
+    private final RealMobScale plugin;
+    private final ConfigManager configManager;
+    // Bucketed due tick -> babies to revisit at that tick
+    private final TreeMap<Integer, List<GrowingEntity>> dueBuckets;
+    // Entity IDs currently tracked
+    private final Set<Integer> tracked;
+    private BukkitTask checkTask;
+
+    // Statistics
+    private final LongAdder totalGrown = new LongAdder();
+    private final LongAdder totalInterpolated = new LongAdder();
+
+    public GrowthTracker(RealMobScale plugin, ConfigManager configManager) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.dueBuckets = new TreeMap<>();
+        this.tracked = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Start the periodic maturity check
+     */
+    public void start() {
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+        if (FoliaScheduler.isFolia()) {
+            return;
+        }
+        checkTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::check, CHECK_INTERVAL, CHECK_INTERVAL);
+    }
+
+    /**
+     * Stop the maturity check and forget all tracked babies
+     */
+    public void stop() {
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+        dueBuckets.clear();
+        tracked.clear();
+    }
+
+    /**
+     * Track a freshly scaled entity if it is a baby that will grow up
+     * Baby zombies and age-locked animals never mature and are ignored
+     */
+    public void track(LivingEntity entity) {
+        if (!configManager.isGrowthRescalingEnabled()) {
+            return;
+        }
+
+        if (!(entity instanceof Breedable breedable) || breedable.isAdult() || breedable.getAgeLock()) {
+            return;
+        }
+
+        if (tracked.add(entity.getEntityId())) {
+            schedule(new GrowingEntity(entity, breedable.getAge()), FoliaScheduler.getCurrentTick());
+        }
+    }
+
+    /**
+     * Stop tracking an entity that left the world
+     * Its bucket entry is discarded by the validity check when due
+     */
+    public void forget(Entity entity) {
+        tracked.remove(entity.getEntityId());
+    }
+
+    /**
+     * Schedule the next visit: the next interpolation point, or the expected maturity tick
+     */
+    private void schedule(GrowingEntity growing, int currentTick) {
+        int remaining = -((Breedable) growing.entity).getAge();
+        int delay = remaining;
+
+        int steps = configManager.getGrowthInterpolationSteps();
+        if (steps > 0 && growing.startAge < 0) {
+            int stepLength = Math.max(CHECK_INTERVAL, -growing.startAge / (steps + 1));
+            delay = Math.min(remaining, stepLength);
+        }
+
+        if (FoliaScheduler.isFolia()) {
+            FoliaScheduler.runForEntity(plugin, growing.entity, () -> {
+                int now = FoliaScheduler.getCurrentTick();
+                if (visit(growing, now)) {
+                    schedule(growing, now);
+                }
+            }, Math.max(delay, 1));
+            return;
+        }
+
+        int dueTick = currentTick + Math.max(delay, 1);
+        // Round up to the bucket boundary so a bucket is always due after its entries
+        int bucket = ((dueTick + CHECK_INTERVAL - 1) / CHECK_INTERVAL) * CHECK_INTERVAL;
+        dueBuckets.computeIfAbsent(bucket, tick -> new ArrayList<>()).add(growing);
+    }
+
+    /**
+     * Process due buckets, at most growth-batch-size entities per check
+     */
+    private void check() {
+        if (dueBuckets.isEmpty()) {
+            return;
+        }
+
+        int currentTick = FoliaScheduler.getCurrentTick();
+        int budget = configManager.getGrowthBatchSize();
+        List<GrowingEntity> rescheduled = new ArrayList<>();
+
+        Iterator<Map.Entry<Integer, List<GrowingEntity>>> buckets = dueBuckets.headMap(currentTick, true).entrySet().iterator();
+        while (buckets.hasNext() && budget > 0) {
+            List<GrowingEntity> bucket = buckets.next().getValue();
+            while (!bucket.isEmpty() && budget > 0) {
+                GrowingEntity growing = bucket.remove(bucket.size() - 1);
+                if (visit(growing, currentTick)) {
+                    rescheduled.add(growing);
+                }
+                budget--;
+            }
+            if (bucket.isEmpty()) {
+                buckets.remove();
+            }
+        }
+
+        // Reschedule after iterating so new entries never land in a bucket being drained
+        for (GrowingEntity growing : rescheduled) {
+            schedule(growing, currentTick);
+        }
+    }
+
+    /**
+     * Rescale a grown entity or interpolate a growing one
+     * @return true if the entity is still a baby and must be visited again
+     */
+    private boolean visit(GrowingEntity growing, int currentTick) {
+        LivingEntity entity = growing.entity;
+        if (!entity.isValid() || !tracked.contains(entity.getEntityId())) {
+            tracked.remove(entity.getEntityId());
+            return false;
+        }
+
+        Breedable breedable = (Breedable) entity;
+        if (breedable.isAdult()) {
+            tracked.remove(entity.getEntityId());
+            if (plugin.getMobScaleManager().rescaleAfterGrowth(entity)) {
+                totalGrown.increment();
+            }
+            return false;
+        }
+
+        if (breedable.getAgeLock()) {
+            tracked.remove(entity.getEntityId());
+            return false;
+        }
+
+        if (configManager.getGrowthInterpolationSteps() > 0 && growing.startAge < 0) {
+            double progress = 1.0 - (double) breedable.getAge() / growing.startAge;
+            if (plugin.getMobScaleManager().applyGrowthProgress(entity, progress)) {
+                totalInterpolated.increment();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of babies waiting to grow up
+     */
+    public int getTrackedCount() {
+        return tracked.size();
+    }
+
+    /**
+     * Get the number of grown-up babies rescaled to their adult size
+     */
+    public long getTotalGrown() {
+        return totalGrown.sum();
+    }
+
+    /**
+     * Get the number of interpolation steps applied to growing babies
+     */
+    public long getTotalInterpolated() {
+        return totalInterpolated.sum();
+    }
+
+    /**
+     * Tracked baby and the age it had when tracking started
+     */
+    private static class GrowingEntity {
+        private final LivingEntity entity;
+        private final int startAge;
+
+        private GrowingEntity(LivingEntity entity, int startAge) {
+            this.entity = entity;
+            this.startAge = startAge;
+        }
+    }
+}
@@ -1,40 +1,130 @@
 package com.minekarta.realMobScale.managers;
 
 import org.bukkit.entity.*;
+import org.bukkit.NamespacedKey;
 import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.attribute.AttributeModifier;
 import org.bukkit.util.Vector;
 import com.minekarta.realMobScale.RealMobScale;
-import com.minekarta.realMobScale.data.MobData;
 import com.minekarta.realMobScale.data.ScaleProfile;
+import com.minekarta.realMobScale.data.ScaleRecord;
 import com.minekarta.realMobScale.events.MobScaleEvent;
 import com.minekarta.realMobScale.events.MobScaledEvent;
 import com.github.retrooper.packetevents.PacketEvents;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
 import org.bukkit.Bukkit;
+import com.minekarta.realMobScale.utils.FoliaScheduler;
+
+import java.util.concurrent.atomic.LongAdder;
 
 public class MobScaleManager {
+    private static final Attribute[] SCALED_ATTRIBUTES = {
+        Attribute.SCALE, Attribute.MAX_HEALTH, Attribute.ATTACK_DAMAGE, Attribute.MOVEMENT_SPEED
+    };
+
     private final ConfigManager configManager;
+    private final NamespacedKey scaleRecordKey;
+    private final NamespacedKey modifierKey;
+
+    // Per-entity cost of each pipeline, measured over scaled entities
+    private final LongAdder fullPathNanos = new LongAdder();
+    private final LongAdder fullPathCount = new LongAdder();
+    private final LongAdder leanPathNanos = new LongAdder();
+    private final LongAdder leanPathCount = new LongAdder();
+
+    // Decision of the group spawn currently in progress; per thread so Folia regions do not share it
+    private final ThreadLocal<GroupSlot> groupSlot = ThreadLocal.withInitial(GroupSlot::new);
+    private final LongAdder groupLeaders = new LongAdder();
+    private final LongAdder groupHits = new LongAdder();
     
     public MobScaleManager() {
         this.configManager = RealMobScale.getInstance().getConfigManager();
+        this.scaleRecordKey = new NamespacedKey(RealMobScale.getInstance(), "scale_record");
+        this.modifierKey = new NamespacedKey(RealMobScale.getInstance(), "realistic_scale");
     }
     
     /**
      * Apply realistic scaling to mob based on real-world measurements
+     * Entities whose scale record matches the current configuration generation are skipped,
+     * and entities with a stale record are reverted first so multipliers never compound
      * @return true if scaling was successfully applied, false otherwise
      */
     public boolean applyRealisticScaling(LivingEntity entity) {
-        if (!shouldScale(entity)) return false;
+        return applyRealisticScaling(entity, false);
+    }
+
+    /**
+     * Apply realistic scaling through the configured pipeline
+     * @param force Rescale even if the scale record matches the current generation
+     */
+    private boolean applyRealisticScaling(LivingEntity entity, boolean force) {
+        long start = System.nanoTime();
+        boolean lean = configManager.enablePerformanceMode();
+        boolean applied = lean ? applyLeanScaling(entity, force) : applyFullScaling(entity, force);
+
+        if (applied) {
+            long elapsed = System.nanoTime() - start;
+            if (lean) {
+                leanPathNanos.add(elapsed);
+                leanPathCount.increment();
+            } else {
+                fullPathNanos.add(elapsed);
+                fullPathCount.increment();
+            }
+        }
+        return applied;
+    }
 
-        ScaleProfile profile = MobData.getScaleProfile(entity.getType());
+    /**
+     * Apply scaling to a spawned entity, reusing a shared decision where the spawn allows it
+     * Spawner spawns use the spawner's memoized decision and natural or chunk-generation
+     * spawns the decision of their group; everything else takes the regular pipeline
+     * @param reason The spawn reason, or null if unknown
+     * @param spawner The spawner block for SPAWNER spawns, or null
+     * @return true if scaling was successfully applied, false otherwise
+     */
+    public boolean applyRealisticScaling(LivingEntity entity, org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason reason,
+                                         org.bukkit.block.Block spawner) {
+        if (spawner != null && configManager.isSpawnerCacheEnabled()) {
+            return applySpawnerScaling(entity, spawner);
+        }
+
+        if (configManager.isGroupBatchingEnabled() && (reason == org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason.NATURAL
+            || reason == org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason.CHUNK_GEN)) {
+            return applyGroupScaling(entity);
+        }
+
+        return applyRealisticScaling(entity);
+    }
+
+    /**
+     * Full scaling pipeline with biome lookup, events and debug output
+     */
+    private boolean applyFullScaling(LivingEntity entity, boolean force) {
+        ScaleRecord record = getScaleRecord(entity);
+        double biomeMultiplier = getAppliedBiomeMultiplier(entity);
+        int generation = combineGenerations(getTypeGeneration(entity), biomeMultiplier);
+        if (record != null && !force && record.getConfigGeneration() == generation) return false;
+
+        if (!shouldScale(entity)) {
+            // Scaling was disabled for this type since the record was written
+            if (record != null) {
+                revertScaling(entity);
+            }
+            return false;
+        }
+
+        EntityTypeTable.Entry entry = configManager.getTypeEntry(entity);
+        ScaleProfile profile = entry.profile;
         if (profile == null) return false;
 
+        // Enforce realistic.max-mobs-per-chunk for newly scaled entities; rescales keep their slot
+        ChunkScaleIndex chunkIndex = RealMobScale.getInstance().getChunkScaleIndex();
+        if (record == null && !chunkIndex.hasCapacity(entity)) return false;
+
         // Calculate the scale factor with biome scaling
-        double baseScaleFactor = getAdjustedScale(entity, profile);
-        double biomeMultiplier = RealMobScale.getInstance().getBiomeScalingManager().getBiomeScaleMultiplier(
-            entity.getLocation().getBlock().getBiome(),
-            entity.getType().name()
-        );
+        double baseScaleFactor = entry.getScale(isBabyAnimal(entity));
         double scaleFactor = baseScaleFactor * biomeMultiplier;
 
         // Fire pre-scaling event (cancellable)
@@ -52,28 +142,269 @@ public class MobScaleManager {
         profile = preEvent.getProfile();
         scaleFactor = preEvent.getScaleFactor();
 
+        // Undo a stale scale from an older configuration before applying the new one
+        // Modifier-based scales need no revert, the new modifiers simply replace them
+        boolean useModifiers = configManager.useAttributeModifiers();
+        // A rescale keeps the entity's health ratio; only a first scale fills it up
+        double healthRatio = record != null ? getHealthRatio(entity) : 1.0;
+        if (record != null && !(record.isModifierBased() && useModifiers)) {
+            revertAttributeScaling(entity, record);
+        }
+
         // Apply visual scaling using packetevents if available (checked at runtime)
-        applyVisualScaling(entity, profile, scaleFactor);
+        applyVisualScaling(entity, profile, scaleFactor, useModifiers);
 
         // Apply attribute adjustments
-        applyAttributeScaling(entity, profile, scaleFactor);
+        double[] multipliers = applyAttributeScaling(entity, profile, scaleFactor, useModifiers, healthRatio);
 
         // Apply hitbox adjustments
         applyHitboxScaling(entity, profile, scaleFactor);
 
+        // Record what was applied so the entity is recognised as scaled across reloads and restarts
+        entity.getPersistentDataContainer().set(scaleRecordKey, ScaleRecord.TYPE, new ScaleRecord(
+            entity.getType().name(), generation, scaleFactor, multipliers[0], multipliers[1], multipliers[2], useModifiers));
+        chunkIndex.add(entity);
+        RealMobScale.getInstance().getGrowthTracker().track(entity);
+
         // Fire post-scaling event (informational)
         MobScaledEvent postEvent = new MobScaledEvent(entity, profile, scaleFactor);
         Bukkit.getPluginManager().callEvent(postEvent);
 
         return true;
     }
-    
-    private void applyVisualScaling(LivingEntity entity, ScaleProfile profile, double scaleFactor) {
+
+    /**
+     * Lean scaling pipeline for realistic.performance-mode
+     * Skips the biome lookup and debug output, fires events only when something listens,
+     * and applies a plan precomputed per entity type and age
+     */
+    private boolean applyLeanScaling(LivingEntity entity, boolean force) {
+        EntityType type = entity.getType();
+        ScaleRecord record = getScaleRecord(entity);
+        // No biome multiplier in the lean pipeline
+        int generation = combineGenerations(getTypeGeneration(entity), 1.0);
+        if (record != null && !force && record.getConfigGeneration() == generation) return false;
+
+        if (!shouldScale(entity)) {
+            if (record != null) {
+                revertScaling(entity);
+            }
+            return false;
+        }
+
+        boolean baby = entity instanceof Ageable ageable && !ageable.isAdult();
+        EntityTypeTable.Entry entry = configManager.getTypeEntry(entity);
+        if (entry.profile == null) return false;
+
+        ChunkScaleIndex chunkIndex = RealMobScale.getInstance().getChunkScaleIndex();
+        if (record == null && !chunkIndex.hasCapacity(entity)) return false;
+
+        ScaleProfile profile = entry.profile;
+        double scaleFactor = entry.getScale(baby);
+        double[] multipliers = entry.getMultipliers(baby);
+
+        if (MobScaleEvent.getHandlerList().getRegisteredListeners().length > 0) {
+            MobScaleEvent preEvent = new MobScaleEvent(entity, profile, scaleFactor);
+            Bukkit.getPluginManager().callEvent(preEvent);
+            if (preEvent.isCancelled()) {
+                return false;
+            }
+
+            // Only recompute when a listener actually changed the plan
+            if (preEvent.getProfile() != profile || preEvent.getScaleFactor() != scaleFactor) {
+                profile = preEvent.getProfile();
+                scaleFactor = preEvent.getScaleFactor();
+                multipliers = entry.getMultipliers(profile, baby, scaleFactor);
+            }
+        }
+
+        boolean useModifiers = configManager.useAttributeModifiers();
+        double healthRatio = record != null ? getHealthRatio(entity) : 1.0;
+        if (record != null && !(record.isModifierBased() && useModifiers)) {
+            revertAttributeScaling(entity, record);
+        }
+
+        AttributeInstance scale = entity.getAttribute(Attribute.SCALE);
+        if (scale != null) {
+            applyScaleAttribute(scale, scaleFactor, useModifiers);
+        }
+        writeAttributeMultipliers(entity, multipliers, useModifiers, healthRatio);
+
+        entity.getPersistentDataContainer().set(scaleRecordKey, ScaleRecord.TYPE, new ScaleRecord(
+            type.name(), generation, scaleFactor, multipliers[0], multipliers[1], multipliers[2], useModifiers));
+        chunkIndex.add(entity);
+        RealMobScale.getInstance().getGrowthTracker().track(entity);
+
+        if (MobScaledEvent.getHandlerList().getRegisteredListeners().length > 0) {
+            Bukkit.getPluginManager().callEvent(new MobScaledEvent(entity, profile, scaleFactor));
+        }
+
+        return true;
+    }
+
+    /**
+     * Scale an entity produced by a spawner from the spawner's memoized decision
+     * The first spawn of each type and age computes the decision; later spawns reuse the
+     * final scale and multipliers without config reads or a biome lookup
+     * @param spawner The spawner block the entity came from
+     * @return true if scaling was applied, false otherwise
+     */
+    public boolean applySpawnerScaling(LivingEntity entity, org.bukkit.block.Block spawner) {
+        EntityType type = entity.getType();
+        boolean baby = isBabyAnimal(entity);
+        int typeGeneration = getTypeGeneration(entity);
+
+        SpawnerDecisionCache cache = RealMobScale.getInstance().getSpawnerDecisionCache();
+        ScaleDecision decision = cache.get(spawner, type, baby, typeGeneration);
+        if (decision == null) {
+            decision = computeDecision(entity, type, baby, typeGeneration);
+            cache.put(spawner, decision);
+        }
+        return applyDecision(entity, decision, 1.0);
+    }
+
+    /**
+     * Scale a member of a natural or chunk-generation group spawn
+     * Packs of one type arrive back to back in the same chunk and tick, so the leader's
+     * decision is kept in a single slot per thread and applied to every following member
+     * @return true if scaling was applied, false otherwise
+     */
+    public boolean applyGroupScaling(LivingEntity entity) {
+        EntityType type = entity.getType();
+        boolean baby = isBabyAnimal(entity);
+        int typeGeneration = getTypeGeneration(entity);
+        java.util.UUID worldId = entity.getWorld().getUID();
+        long chunkKey = org.bukkit.Chunk.getChunkKey((int) Math.floor(entity.getX()) >> 4, (int) Math.floor(entity.getZ()) >> 4);
+        int tick = FoliaScheduler.getCurrentTick();
+
+        GroupSlot slot = groupSlot.get();
+        ScaleDecision decision = slot.decision;
+        if (decision != null && decision.matches(type, baby, typeGeneration)
+            && slot.tick == tick && slot.chunkKey == chunkKey && worldId.equals(slot.worldId)) {
+            groupHits.increment();
+        } else {
+            decision = computeDecision(entity, type, baby, typeGeneration);
+            slot.decision = decision;
+            slot.worldId = worldId;
+            slot.chunkKey = chunkKey;
+            slot.tick = tick;
+            groupLeaders.increment();
+        }
+
+        return applyDecision(entity, decision, getGroupVariation(entity));
+    }
+
+    /**
+     * Cheap per-member size variation for group spawns, derived from the entity ID
+     * @return a factor within 1 +/- settings.performance.group-size-variation
+     */
+    private double getGroupVariation(LivingEntity entity) {
+        double variation = configManager.getGroupSizeVariation();
+        if (variation <= 0) {
+            return 1.0;
+        }
+
+        // Mix the ID bits so neighbouring IDs do not produce neighbouring sizes
+        int hash = entity.getEntityId() * 0x9E3779B9;
+        double unit = ((hash >>> 16) & 0xFFFF) / 65535.0; // 0..1
+        return 1.0 + variation * (unit * 2.0 - 1.0);
+    }
+
+    /**
+     * Apply a decision computed off the main thread
+     * Falls back to the regular pipeline when the entity was scaled, changed age, or the
+     * configuration changed while the decision was being computed
+     * @return true if scaling was applied, false otherwise
+     */
+    public boolean applyComputedDecision(LivingEntity entity, ScaleDecision decision) {
+        EntityType type = entity.getType();
+        if (isScaled(entity) || !decision.matches(type, isBabyAnimal(entity), getTypeGeneration(entity))) {
+            return applyRealisticScaling(entity);
+        }
+        return applyDecision(entity, decision, 1.0);
+    }
+
+    /**
+     * Write a shared decision to a freshly spawned entity
+     * @param variation Per-entity size factor applied on top of the decision's scale
+     */
+    private boolean applyDecision(LivingEntity entity, ScaleDecision decision, double variation) {
+        if (!decision.isScaled()) return false;
+
+        // Freshly spawned, so there is no earlier record to revert or keep a chunk slot for
+        ChunkScaleIndex chunkIndex = RealMobScale.getInstance().getChunkScaleIndex();
+        if (!chunkIndex.hasCapacity(entity)) return false;
+
+        ScaleProfile profile = decision.getProfile();
+        double scaleFactor = decision.getScaleFactor();
+        double[] multipliers = decision.getMultipliers();
+        if (variation != 1.0) {
+            // Health and damage follow size linearly, speed does not depend on it
+            scaleFactor *= variation;
+            multipliers = new double[] { multipliers[0] * variation, multipliers[1] * variation, multipliers[2] };
+        }
+
+        if (MobScaleEvent.getHandlerList().getRegisteredListeners().length > 0) {
+            MobScaleEvent preEvent = new MobScaleEvent(entity, profile, scaleFactor);
+            Bukkit.getPluginManager().callEvent(preEvent);
+            if (preEvent.isCancelled()) {
+                return false;
+            }
+
+            if (preEvent.getProfile() != profile || preEvent.getScaleFactor() != scaleFactor) {
+                profile = preEvent.getProfile();
+                scaleFactor = preEvent.getScaleFactor();
+                multipliers = configManager.getTypeEntry(entity).getMultipliers(profile, decision.isBaby(), scaleFactor);
+            }
+        }
+
+        boolean useModifiers = configManager.useAttributeModifiers();
+        AttributeInstance scale = entity.getAttribute(Attribute.SCALE);
+        if (scale != null) {
+            applyScaleAttribute(scale, scaleFactor, useModifiers);
+        }
+        writeAttributeMultipliers(entity, multipliers, useModifiers, 1.0);
+
+        entity.getPersistentDataContainer().set(scaleRecordKey, ScaleRecord.TYPE, new ScaleRecord(
+            decision.getType().name(), decision.getGeneration(), scaleFactor,
+            multipliers[0], multipliers[1], multipliers[2], useModifiers));
+        chunkIndex.add(entity);
+        RealMobScale.getInstance().getGrowthTracker().track(entity);
+
+        if (MobScaledEvent.getHandlerList().getRegisteredListeners().length > 0) {
+            Bukkit.getPluginManager().callEvent(new MobScaledEvent(entity, profile, scaleFactor));
+        }
+
+        return true;
+    }
+
+    /**
+     * Compute a decision shared by several spawns of one type and age
+     * The biome multiplier is skipped in performance mode, matching the lean pipeline
+     */
+    private ScaleDecision computeDecision(LivingEntity entity, EntityType type, boolean baby, int typeGeneration) {
+        EntityTypeTable.Entry entry = configManager.getTypeEntry(entity);
+        if (entry.profile == null || !shouldScale(entity)) {
+            return new ScaleDecision(type, baby, typeGeneration, combineGenerations(typeGeneration, 1.0), null, 1.0, null);
+        }
+
+        double biomeMultiplier = getAppliedBiomeMultiplier(entity);
+        int generation = combineGenerations(typeGeneration, biomeMultiplier);
+        if (biomeMultiplier == 1.0) {
+            return new ScaleDecision(type, baby, typeGeneration, generation, entry.profile, entry.getScale(baby),
+                entry.getMultipliers(baby));
+        }
+
+        double scaleFactor = entry.getScale(baby) * biomeMultiplier;
+        return new ScaleDecision(type, baby, typeGeneration, generation, entry.profile, scaleFactor,
+            entry.getMultipliers(baby, scaleFactor));
+    }
+
+    private void applyVisualScaling(LivingEntity entity, ScaleProfile profile, double scaleFactor, boolean useModifiers) {
         try {
             // Check if this is a baby animal and adjust scale accordingly
             float scaleFloat = (float) scaleFactor;
             String entityType = entity.getType().name();
-            String ageInfo = isBabyAnimal(entity) ? "(Baby)" : "(Adult)";
 
             // Primary method: PacketEvents integration for smooth visual scaling
             if (RealMobScale.getInstance().getMetadataHandler() != null) {
@@ -87,25 +418,16 @@ public class MobScaleManager {
 
                 // Also apply server-side scale attribute for fallback and compatibility
                 if (entity.getAttribute(org.bukkit.attribute.Attribute.SCALE) != null) {
-                    entity.getAttribute(org.bukkit.attribute.Attribute.SCALE).setBaseValue(scaleFloat);
+                    applyScaleAttribute(entity.getAttribute(Attribute.SCALE), scaleFloat, useModifiers);
                 }
-
-                // Visual scaling applied to " + entityType + " " + ageInfo +
-                // " - " + profile.getDescription() + " (Real: " + profile.getRealWorldHeight() +
-                // "m, Scale: " + scaleFactor + "x) using PacketEvents + SCALE attribute
             } else {
                 // Fallback: use only the built-in scale attribute
                 if (entity.getAttribute(org.bukkit.attribute.Attribute.SCALE) != null) {
-                    entity.getAttribute(org.bukkit.attribute.Attribute.SCALE).setBaseValue(scaleFloat);
-                    // Visual scaling applied to " + entityType + " " + ageInfo +
-                    // " - " + profile.getDescription() + " (Real: " + profile.getRealWorldHeight() +
-                    // "m, Scale: " + scaleFactor + "x) using SCALE attribute only
+                    applyScaleAttribute(entity.getAttribute(Attribute.SCALE), scaleFloat, useModifiers);
                 } else {
                     // Last resort: try to use older methods
                     try {
                         entity.teleport(entity.getLocation().clone().multiply(scaleFloat));
-                        // Visual scaling applied to " + entityType + " " + ageInfo +
-                        // " (scale: " + scaleFactor + ") using transformation fallback
                     } catch (Exception fallbackException) {
                         RealMobScale.getInstance().getLogger().severe("Could not apply visual scaling to " + entityType +
                             " - All methods failed, using default size");
@@ -118,29 +440,37 @@ public class MobScaleManager {
     }
 
     /**
-     * Get the adjusted scale factor considering baby animals
+     * Set the SCALE attribute, as a modifier on top of the vanilla base or as the base value itself
      */
-    private double getAdjustedScale(LivingEntity entity, ScaleProfile profile) {
-        if (isBabyAnimal(entity)) {
-            // Check for custom baby scale first
-            double customBabyScale = configManager.getCustomBabyScale(entity.getType());
-            if (customBabyScale > 0) {
-                // Use custom baby scale with global multiplier
-                double babyMultiplier = configManager.getBabyScaleMultiplier();
-                return profile.getScaleFactor() * customBabyScale * babyMultiplier;
-            } else {
-                // Use default baby scale calculation
-                double babyMultiplier = configManager.getBabyScaleMultiplier();
-                return profile.getBabyAdjustedScale(babyMultiplier);
-            }
+    private void applyScaleAttribute(AttributeInstance scale, double scaleFactor, boolean useModifiers) {
+        if (useModifiers) {
+            applyMultiplier(scale, scaleFactor, true);
+        } else {
+            scale.setBaseValue(scaleFactor);
+        }
+    }
+
+    /**
+     * Apply a multiplier to an attribute
+     * In modifier mode this is a constant-time swap of the plugin's MULTIPLY_SCALAR_1 modifier,
+     * otherwise the base value is multiplied in place
+     */
+    private void applyMultiplier(AttributeInstance attribute, double multiplier, boolean useModifiers) {
+        if (!useModifiers) {
+            attribute.setBaseValue(attribute.getBaseValue() * multiplier);
+            return;
+        }
+
+        attribute.removeModifier(modifierKey);
+        if (multiplier != 1.0) {
+            attribute.addModifier(new AttributeModifier(modifierKey, multiplier - 1.0, AttributeModifier.Operation.MULTIPLY_SCALAR_1));
         }
-        return profile.getScaleFactor();
     }
 
     /**
      * Check if the entity is a baby animal
      */
-    private boolean isBabyAnimal(LivingEntity entity) {
+    boolean isBabyAnimal(LivingEntity entity) {
         // Check for ageable entities (most animals)
         if (entity instanceof org.bukkit.entity.Ageable) {
             return !((org.bukkit.entity.Ageable) entity).isAdult();
@@ -156,52 +486,264 @@ public class MobScaleManager {
     }
     
         
-    private void applyAttributeScaling(LivingEntity entity, ScaleProfile profile, double scaleFactor) {
-        // Calculate size multiplier based on the actual scale factor applied
-        double sizeMultiplier = scaleFactor / profile.getScaleFactor();
-        String entityType = entity.getType().name();
-        String ageInfo = isBabyAnimal(entity) ? "(Baby)" : "(Adult)";
+    /**
+     * Multiply health, damage and speed, either via modifiers or base values
+     * @param healthRatio Fraction of the new max health to set the entity's health to
+     * @return the applied health, damage and speed multipliers, in that order
+     */
+    private double[] applyAttributeScaling(LivingEntity entity, ScaleProfile profile, double scaleFactor,
+                                           boolean useModifiers, double healthRatio) {
+        double[] multipliers = configManager.getTypeEntry(entity).getMultipliers(profile, isBabyAnimal(entity), scaleFactor);
+        writeAttributeMultipliers(entity, multipliers, useModifiers, healthRatio);
+        return multipliers;
+    }
+
+    /**
+     * Write health, damage and speed multipliers to an entity
+     * @param healthRatio Fraction of the new max health to set the entity's health to;
+     *                    1.0 fills it on a first scale, a rescale passes the ratio it had before
+     */
+    private void writeAttributeMultipliers(LivingEntity entity, double[] multipliers, boolean useModifiers,
+                                           double healthRatio) {
+        AttributeInstance maxHealth = entity.getAttribute(Attribute.MAX_HEALTH);
+        if (maxHealth != null) {
+            applyMultiplier(maxHealth, multipliers[0], useModifiers);
+            entity.setHealth(Math.min(maxHealth.getValue(), maxHealth.getValue() * healthRatio));
+        }
+
+        AttributeInstance damage = entity.getAttribute(Attribute.ATTACK_DAMAGE);
+        if (damage != null) {
+            applyMultiplier(damage, multipliers[1], useModifiers);
+        }
 
-        // Adjust health based on size (larger animals = more health)
-        double healthMultiplier = profile.getHealthMultiplier() * sizeMultiplier;
-        if (entity.getAttribute(Attribute.MAX_HEALTH) != null) {
-            double baseHealth = entity.getAttribute(Attribute.MAX_HEALTH).getBaseValue();
-            double newHealth = baseHealth * healthMultiplier;
-            entity.getAttribute(Attribute.MAX_HEALTH).setBaseValue(newHealth);
-            entity.setHealth(newHealth);
+        AttributeInstance speed = entity.getAttribute(Attribute.MOVEMENT_SPEED);
+        if (speed != null) {
+            applyMultiplier(speed, multipliers[2], useModifiers);
+        }
+    }
 
-            // Health adjusted for " + entityType + " " + ageInfo +
-            // ": " + String.format("%.1f", baseHealth) + " → " + String.format("%.1f", newHealth) + " HP
+    /**
+     * Get an entity's health as a fraction of its max health
+     */
+    private static double getHealthRatio(LivingEntity entity) {
+        AttributeInstance maxHealth = entity.getAttribute(Attribute.MAX_HEALTH);
+        if (maxHealth == null || maxHealth.getValue() <= 0) {
+            return 1.0;
         }
+        return Math.min(1.0, entity.getHealth() / maxHealth.getValue());
+    }
 
-        // Adjust damage based on size
-        double damageMultiplier = profile.getDamageMultiplier() * sizeMultiplier;
-        if (entity.getAttribute(Attribute.ATTACK_DAMAGE) != null) {
-            double baseDamage = entity.getAttribute(Attribute.ATTACK_DAMAGE).getBaseValue();
-            double newDamage = baseDamage * damageMultiplier;
-            entity.getAttribute(Attribute.ATTACK_DAMAGE).setBaseValue(newDamage);
+    /**
+     * Undo the scaling described by a scale record
+     * Modifier-based records drop the plugin's modifiers; base-value records divide out
+     * the stored multipliers and reset the SCALE attribute
+     */
+    private void revertAttributeScaling(LivingEntity entity, ScaleRecord record) {
+        if (record.isModifierBased()) {
+            for (Attribute attribute : SCALED_ATTRIBUTES) {
+                AttributeInstance instance = entity.getAttribute(attribute);
+                if (instance != null) {
+                    instance.removeModifier(modifierKey);
+                }
+            }
 
-            // Damage adjusted for " + entityType + " " + ageInfo +
-            // ": " + String.format("%.1f", baseDamage) + " → " + String.format("%.1f", newDamage) + " DMG
+            AttributeInstance maxHealth = entity.getAttribute(Attribute.MAX_HEALTH);
+            if (maxHealth != null) {
+                entity.setHealth(Math.min(entity.getHealth(), maxHealth.getValue()));
+            }
+            return;
         }
 
-        // Adjust movement speed based on size (smaller = faster, larger = slower)
-        double speedMultiplier = profile.getSpeedMultiplier();
-        if (isBabyAnimal(entity)) {
-            // Babies are typically more energetic and playful
-            // But still proportional to their size
-            speedMultiplier *= 1.15; // Slightly faster than adults, but not too much
+        AttributeInstance maxHealth = entity.getAttribute(Attribute.MAX_HEALTH);
+        if (maxHealth != null && record.getHealthMultiplier() > 0) {
+            maxHealth.setBaseValue(maxHealth.getBaseValue() / record.getHealthMultiplier());
+            entity.setHealth(Math.min(entity.getHealth(), maxHealth.getValue()));
         }
 
-        if (entity.getAttribute(Attribute.MOVEMENT_SPEED) != null) {
-            double baseSpeed = entity.getAttribute(Attribute.MOVEMENT_SPEED).getBaseValue();
-            double newSpeed = baseSpeed * speedMultiplier;
-            entity.getAttribute(Attribute.MOVEMENT_SPEED).setBaseValue(newSpeed);
+        AttributeInstance damage = entity.getAttribute(Attribute.ATTACK_DAMAGE);
+        if (damage != null && record.getDamageMultiplier() > 0) {
+            damage.setBaseValue(damage.getBaseValue() / record.getDamageMultiplier());
+        }
+
+        AttributeInstance speed = entity.getAttribute(Attribute.MOVEMENT_SPEED);
+        if (speed != null && record.getSpeedMultiplier() > 0) {
+            speed.setBaseValue(speed.getBaseValue() / record.getSpeedMultiplier());
+        }
 
-            // Speed adjusted for " + entityType + " " + ageInfo +
-            // ": " + String.format("%.3f", baseSpeed) + " → " + String.format("%.3f", newSpeed) + " m/s
+        AttributeInstance scale = entity.getAttribute(Attribute.SCALE);
+        if (scale != null) {
+            scale.setBaseValue(1.0);
         }
     }
+
+    /**
+     * Remove all scaling from an entity, restoring its original attribute values
+     * @return true if the entity had a scale record and was reverted
+     */
+    public boolean revertScaling(LivingEntity entity) {
+        ScaleRecord record = getScaleRecord(entity);
+        if (record == null) {
+            return false;
+        }
+
+        revertAttributeScaling(entity, record);
+        entity.getPersistentDataContainer().remove(scaleRecordKey);
+        RealMobScale.getInstance().getChunkScaleIndex().remove(entity);
+        if (RealMobScale.getInstance().getMetadataHandler() != null) {
+            RealMobScale.getInstance().getMetadataHandler().removeEntity(entity.getUniqueId());
+        }
+        return true;
+    }
+
+    /**
+     * Replace a baby scale with the adult scale once the entity has grown up
+     * @return true if the entity was rescaled
+     */
+    public boolean rescaleAfterGrowth(LivingEntity entity) {
+        if (getScaleRecord(entity) == null) {
+            return false;
+        }
+
+        // Rescale in place over the baby record, so the entity keeps its chunk slot and health ratio
+        if (applyRealisticScaling(entity, true)) {
+            return true;
+        }
+
+        // The adult is not scaled (type disabled or event cancelled); drop the baby scale
+        revertScaling(entity);
+        return false;
+    }
+
+    /**
+     * Move a growing baby's size towards its adult scale
+     * Only the SCALE attribute changes; the baby record stays until the entity is fully grown
+     * @param progress Growth progress from 0 (newborn) to 1 (adult)
+     * @return true if the size was updated
+     */
+    public boolean applyGrowthProgress(LivingEntity entity, double progress) {
+        ScaleRecord record = getScaleRecord(entity);
+        EntityTypeTable.Entry entry = configManager.getTypeEntry(entity);
+        AttributeInstance scale = entity.getAttribute(Attribute.SCALE);
+        if (record == null || entry.profile == null || scale == null) {
+            return false;
+        }
+
+        double babyScale = entry.getScale(true);
+        if (babyScale <= 0) {
+            return false;
+        }
+
+        // Work relative to the recorded scale so biome and event adjustments carry over
+        double ratio = entry.getScale(false) / babyScale;
+        double clamped = Math.max(0.0, Math.min(1.0, progress));
+        applyScaleAttribute(scale, record.getScaleFactor() * (1.0 + (ratio - 1.0) * clamped), record.isModifierBased());
+        return true;
+    }
+
+    /**
+     * Read the scale record stored on an entity
+     * @return the record, or null if the entity was never scaled or the record is unreadable
+     */
+    public ScaleRecord getScaleRecord(LivingEntity entity) {
+        try {
+            return entity.getPersistentDataContainer().get(scaleRecordKey, ScaleRecord.TYPE);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check if an entity carries a scale record, current or stale
+     */
+    public boolean isScaled(LivingEntity entity) {
+        return entity.getPersistentDataContainer().has(scaleRecordKey);
+    }
+
+    /**
+     * Check if an entity carries a scale record for the current configuration
+     */
+    public boolean hasCurrentScale(LivingEntity entity) {
+        ScaleRecord record = getScaleRecord(entity);
+        return record != null && record.getConfigGeneration() == getCurrentGeneration(entity);
+    }
+
+    /**
+     * Check if an entity was scaled under an older configuration and needs a rescale
+     */
+    public boolean needsRescale(LivingEntity entity) {
+        ScaleRecord record = getScaleRecord(entity);
+        return record != null && record.getConfigGeneration() != getCurrentGeneration(entity);
+    }
+
+    /**
+     * Combined generation of an entity's type settings in its world and the biome multiplier at its position
+     * Only changes when something that affects this entity's scale changes; editing one biome's
+     * multiplier leaves entities in other biomes current
+     */
+    public int getCurrentGeneration(LivingEntity entity) {
+        return combineGenerations(getTypeGeneration(entity), getAppliedBiomeMultiplier(entity));
+    }
+
+    private int getTypeGeneration(LivingEntity entity) {
+        return configManager.getTypeGeneration(entity.getWorld(), entity.getType());
+    }
+
+    /**
+     * Get the biome multiplier the current configuration applies to an entity at its position
+     * The lean pipeline applies none
+     */
+    private double getAppliedBiomeMultiplier(LivingEntity entity) {
+        if (configManager.enablePerformanceMode()) {
+            return 1.0;
+        }
+        org.bukkit.World world = entity.getWorld();
+        return RealMobScale.getInstance().getBiomeScalingManager().getBiomeScaleMultiplier(
+            world.getBiome(entity.getLocation().getBlockX(), entity.getLocation().getBlockY(), entity.getLocation().getBlockZ()),
+            entity.getType().name());
+    }
+
+    /**
+     * Combine a type generation with the applied biome multiplier, as stored in scale records
+     */
+    static int combineGenerations(int typeGeneration, double biomeMultiplier) {
+        return 31 * typeGeneration + Double.hashCode(biomeMultiplier);
+    }
+
+    /**
+     * Queue the live entities affected by a configuration change
+     * Worlds that were disabled have their scaled entities reverted; everything else is
+     * rescaled through the budgeted queue, filtered by the diff
+     * @return the number of chunks queued
+     */
+    public int rescaleForDiff(ConfigDiff diff) {
+        if (diff.isEmpty()) {
+            return 0;
+        }
+
+        ScalingQueueManager queue = RealMobScale.getInstance().getScalingQueueManager();
+        int chunks = 0;
+        for (org.bukkit.World world : RealMobScale.getInstance().getServer().getWorlds()) {
+            boolean disabled = diff.getDisabledWorlds().contains(world.getName());
+            if (!disabled && !configManager.isWorldEnabled(world)) {
+                continue;
+            }
+
+            for (long chunkKey : RealMobScale.getInstance().getChunkScaleIndex().getLoadedChunkKeys(world)) {
+                if (disabled) {
+                    queue.enqueueChunkRevert(world, chunkKey);
+                } else {
+                    queue.enqueueChunk(world, chunkKey, diff::affects);
+                }
+                chunks++;
+            }
+        }
+
+        if (configManager.isDebugMode()) {
+            RealMobScale.getInstance().getLogger().info("Queued " + chunks + " chunks for rescaling after configuration change");
+        }
+
+        return chunks;
+    }
     
     private void applyHitboxScaling(LivingEntity entity, ScaleProfile profile, double scaleFactor) {
         // Paper 1.21 hitbox adjustment
@@ -222,51 +764,85 @@ public class MobScaleManager {
     }
 
     /**
-     * Apply scaling to all existing entities in all worlds
-     * Useful for server restarts or when enabling the plugin
+     * Queue scaling for all existing entities in all worlds
+     * Loaded chunks are handed to the scaling queue and expanded incrementally,
+     * so the cost is spread over ticks instead of one synchronous pass
+     * @return the number of chunks queued
      */
-    public void applyScalingToExistingEntities() {
-        int count = 0;
+    public int applyScalingToExistingEntities() {
+        int chunks = 0;
         for (org.bukkit.World world : RealMobScale.getInstance().getServer().getWorlds()) {
-            for (org.bukkit.entity.Entity entity : world.getLivingEntities()) {
-                if (entity instanceof LivingEntity) {
-                    LivingEntity livingEntity = (LivingEntity) entity;
-                    if (applyRealisticScaling(livingEntity)) {
-                        count++;
-                    }
-                }
-            }
+            chunks += queueWorldChunks(world);
         }
 
         if (configManager.isDebugMode()) {
-            RealMobScale.getInstance().getLogger().info("Applied scaling to " + count + " existing entities");
+            RealMobScale.getInstance().getLogger().info("Queued " + chunks + " loaded chunks for scaling of existing entities");
         }
+
+        return chunks;
     }
 
     /**
-     * Apply scaling to all entities in a specific world
+     * Queue scaling for all entities in a specific world
+     * @return the number of chunks queued, or -1 if the world does not exist
      */
     public int applyScalingToWorld(String worldName) {
         org.bukkit.World world = RealMobScale.getInstance().getServer().getWorld(worldName);
         if (world == null) {
+            return -1;
+        }
+
+        int chunks = queueWorldChunks(world);
+
+        if (configManager.isDebugMode()) {
+            RealMobScale.getInstance().getLogger().info("Queued " + chunks + " chunks for scaling in world " + worldName);
+        }
+
+        return chunks;
+    }
+
+    private int queueWorldChunks(org.bukkit.World world) {
+        if (!configManager.isWorldEnabled(world)) {
             return 0;
         }
 
-        int count = 0;
-        for (org.bukkit.entity.Entity entity : world.getLivingEntities()) {
-            if (entity instanceof LivingEntity) {
-                LivingEntity livingEntity = (LivingEntity) entity;
-                if (applyRealisticScaling(livingEntity)) {
-                    count++;
-                }
-            }
+        long[] chunkKeys = RealMobScale.getInstance().getChunkScaleIndex().getLoadedChunkKeys(world);
+        for (long chunkKey : chunkKeys) {
+            RealMobScale.getInstance().getScalingQueueManager().enqueueChunk(world, chunkKey, entity -> true);
         }
+        return chunkKeys.length;
+    }
 
-        if (configManager.isDebugMode()) {
-            RealMobScale.getInstance().getLogger().info("Applied scaling to " + count + " entities in world " + worldName);
+    /**
+     * Queue scaling for entities within a radius of a location, chunk by chunk
+     * Used on Folia, where a command cannot iterate entities owned by other regions
+     * @return the number of chunks queued
+     */
+    public int queueScalingInRadius(org.bukkit.Location center, double radius) {
+        if (center == null || radius <= 0) {
+            return 0;
         }
 
-        return count;
+        org.bukkit.World world = center.getWorld();
+        double radiusSquared = radius * radius;
+        int minX = (int) Math.floor(center.getX() - radius) >> 4;
+        int maxX = (int) Math.floor(center.getX() + radius) >> 4;
+        int minZ = (int) Math.floor(center.getZ() - radius) >> 4;
+        int maxZ = (int) Math.floor(center.getZ() + radius) >> 4;
+
+        int chunks = 0;
+        for (long chunkKey : RealMobScale.getInstance().getChunkScaleIndex().getLoadedChunkKeys(world)) {
+            int chunkX = (int) chunkKey;
+            int chunkZ = (int) (chunkKey >> 32);
+            if (chunkX < minX || chunkX > maxX || chunkZ < minZ || chunkZ > maxZ) {
+                continue;
+            }
+
+            RealMobScale.getInstance().getScalingQueueManager().enqueueChunk(world, chunkKey,
+                entity -> entity.getLocation().distanceSquared(center) <= radiusSquared);
+            chunks++;
+        }
+        return chunks;
     }
 
     /**
@@ -309,14 +885,26 @@ public class MobScaleManager {
 
     /**
      * Get statistics about current scaling
+     * On Folia entities of other regions cannot be iterated, so the scaled count comes from
+     * the chunk index and the total is reported as unknown (-1)
      */
     public ScalingStatistics getScalingStatistics() {
+        if (FoliaScheduler.isFolia()) {
+            int worldsChecked = 0;
+            for (org.bukkit.World world : RealMobScale.getInstance().getServer().getWorlds()) {
+                if (configManager.isWorldEnabled(world)) {
+                    worldsChecked++;
+                }
+            }
+            return new ScalingStatistics(-1, RealMobScale.getInstance().getChunkScaleIndex().getCountedEntityCount(), worldsChecked);
+        }
+
         int totalEntities = 0;
         int scaledEntities = 0;
         int worldsChecked = 0;
 
         for (org.bukkit.World world : RealMobScale.getInstance().getServer().getWorlds()) {
-            if (!configManager.isWorldEnabled(world.getName())) {
+            if (!configManager.isWorldEnabled(world)) {
                 continue;
             }
 
@@ -327,13 +915,8 @@ public class MobScaleManager {
                     LivingEntity livingEntity = (LivingEntity) entity;
 
                     // Check if entity is scaled
-                    try {
-                        if (livingEntity.getAttribute(org.bukkit.attribute.Attribute.SCALE) != null &&
-                            livingEntity.getAttribute(org.bukkit.attribute.Attribute.SCALE).getBaseValue() != 1.0) {
-                            scaledEntities++;
-                        }
-                    } catch (Exception e) {
-                        // Ignore errors in statistics
+                    if (isScaled(livingEntity)) {
+                        scaledEntities++;
                     }
                 }
             }
@@ -342,6 +925,48 @@ public class MobScaleManager {
         return new ScalingStatistics(totalEntities, scaledEntities, worldsChecked);
     }
 
+    /**
+     * Get the average cost of scaling one entity, in nanoseconds
+     * @param lean true for the performance-mode pipeline, false for the full pipeline
+     */
+    public double getAverageScalingNanos(boolean lean) {
+        long count = (lean ? leanPathCount : fullPathCount).sum();
+        long nanos = (lean ? leanPathNanos : fullPathNanos).sum();
+        return count > 0 ? (double) nanos / count : 0;
+    }
+
+    /**
+     * Get the number of entities scaled by a pipeline
+     * @param lean true for the performance-mode pipeline, false for the full pipeline
+     */
+    public long getScaledCount(boolean lean) {
+        return (lean ? leanPathCount : fullPathCount).sum();
+    }
+
+    /**
+     * Get the number of group spawns whose decision was computed by their leader
+     */
+    public long getGroupLeaders() {
+        return groupLeaders.sum();
+    }
+
+    /**
+     * Get the number of group members that reused their leader's decision
+     */
+    public long getGroupHits() {
+        return groupHits.sum();
+    }
+
+    /**
+     * Group spawn currently being applied on one thread
+     */
+    private static class GroupSlot {
+        private ScaleDecision decision;
+        private java.util.UUID worldId;
+        private long chunkKey;
+        private int tick;
+    }
+
     /**
      * Statistics class for scaling information
      */
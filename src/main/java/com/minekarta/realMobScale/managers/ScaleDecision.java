@@ -0,0 +1,47 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.entity.EntityType;
+import com.minekarta.realMobScale.data.ScaleProfile;
+
+/**
+ * Final scaling outcome for an entity type and age, computed once and shared by
+ * every entity it applies to (spawner farms, group spawns)
+ * A decision with a null profile records that the type is not scaled
+ */
+public class ScaleDecision {
+    private final EntityType type;
+    private final boolean baby;
+    // Type generation the decision is shared under, and the full generation it records
+    private final int typeGeneration;
+    private final int generation;
+    private final ScaleProfile profile;
+    private final double scaleFactor;
+    private final double[] multipliers;
+
+    public ScaleDecision(EntityType type, boolean baby, int typeGeneration, int generation, ScaleProfile profile,
+                         double scaleFactor, double[] multipliers) {
+        this.type = type;
+        this.baby = baby;
+        this.typeGeneration = typeGeneration;
+        this.generation = generation;
+        this.profile = profile;
+        this.scaleFactor = scaleFactor;
+        this.multipliers = multipliers;
+    }
+
+    /**
+     * Check if this decision still applies to an entity type and age under a type generation
+     * The biome part is left out, so nearby spawns share the decision of the first one
+     */
+    public boolean matches(EntityType type, boolean baby, int typeGeneration) {
+        return this.type == type && this.baby == baby && this.typeGeneration == typeGeneration;
+    }
+
+    public boolean isScaled() { return profile != null; }
+    public EntityType getType() { return type; }
+    public boolean isBaby() { return baby; }
+    public int getGeneration() { return generation; }
+    public ScaleProfile getProfile() { return profile; }
+    public double getScaleFactor() { return scaleFactor; }
+    public double[] getMultipliers() { return multipliers; }
+}
@@ -0,0 +1,733 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.block.Block;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.scheduler.BukkitTask;
+import com.minekarta.realMobScale.RealMobScale;
+import com.minekarta.realMobScale.utils.FoliaScheduler;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Tick-budgeted work queue for scaling operations
+ * A single repeating task drains the queue, processing at most
+ * max-processing-per-tick entities within max-processing-nanos-per-tick, both scaled
+ * down by {@link TickBudgetController} while the server is lagging
+ *
+ * Every spawn-related Bukkit event is funnelled through {@link #enqueue}, which
+ * de-duplicates by entity ID so each entity is scheduled exactly once per lifecycle
+ *
+ * Pre-existing entities are fed in chunk by chunk: loaded chunks wait in a backlog
+ * and are only expanded into entity entries while the queue has spare capacity
+ *
+ * Entries wait in FIFO order until their delay has elapsed, then move to a priority
+ * queue ordered by distance to the nearest online player in the same world, so mobs
+ * players can see are scaled first. Player positions are sampled once per drain
+ *
+ * During a spawn storm new spawns are only marked and get scaled the first time a
+ * player tracks them, see {@link #recordSpawn} and {@link #onObserved}
+ *
+ * On Folia there is no main thread to drain from: entries run on their entity's scheduler
+ * and chunk backfill runs on the owning region, so regions scale in parallel. Tracking
+ * sets and counters shared between regions are concurrent
+ */
+public class ScalingQueueManager {
+    // Ticks between re-ranking ready entries that were left over by earlier drains
+    private static final int REPRIORITIZE_INTERVAL = 20;
+    // Length of the spawn-rate measurement window
+    private static final int STORM_WINDOW_TICKS = 20;
+
+    private final RealMobScale plugin;
+    private final ConfigManager configManager;
+    private final TickBudgetController budgetController;
+    private final DecisionWorkerPool decisionPool;
+    // Entries whose spawn delay has not elapsed yet, earliest ready tick first; delays differ per
+    // spawn reason, so a long delay must not hold back shorter ones queued after it
+    private final PriorityQueue<PendingScale> queue;
+    // Ready entries, nearest to a player first
+    private final PriorityQueue<PendingScale> ready;
+    // World UID -> online player positions, resampled once per drain
+    private final Map<UUID, PlayerPositions> playerPositions;
+    private long sequence;
+    private int lastReprioritizeTick;
+
+    // Spawn-storm circuit breaker, measured over one-second windows
+    private int stormWindowStart;
+    private int stormWindowSpawns;
+    private int lastSpawnRate;
+    private boolean stormActive;
+    private long stormTrips;
+    private final LongAdder totalObserved = new LongAdder();
+    // Entity IDs that are queued or already processed during their current lifecycle
+    private final Set<Integer> ingested;
+    // Entity IDs spawned during a spawn storm, scaled when a player first tracks them
+    private final Set<Integer> awaitingObservation;
+    // Loaded chunks whose existing entities still need to be checked
+    private final ArrayDeque<PendingChunk> pendingChunks;
+    private BukkitTask drainTask;
+
+    // Statistics
+    private final LongAdder totalProcessed = new LongAdder();
+    private long totalDeferred;
+    private final LongAdder totalRejected = new LongAdder();
+    private final LongAdder totalDuplicates = new LongAdder();
+    private final LongAdder totalInstant = new LongAdder();
+    private int lastDeferred;
+    private int peakDepth;
+    private long lastDrainNanos;
+
+    public ScalingQueueManager(RealMobScale plugin, ConfigManager configManager) {
+        this.plugin = plugin;
+        this.configManager = configManager;
+        this.budgetController = new TickBudgetController(configManager);
+        this.decisionPool = new DecisionWorkerPool(plugin, configManager);
+        this.queue = new PriorityQueue<>(Comparator.comparingLong((PendingScale pending) -> pending.readyTick)
+            .thenComparingLong(pending -> pending.sequence));
+        this.ready = new PriorityQueue<>();
+        this.playerPositions = new HashMap<>();
+        this.ingested = ConcurrentHashMap.newKeySet();
+        this.awaitingObservation = ConcurrentHashMap.newKeySet();
+        this.pendingChunks = new ArrayDeque<>();
+    }
+
+    /**
+     * Start (or restart) the repeating drain task using the configured drain interval
+     * Queued entries are kept across restarts. Folia needs no drain task
+     */
+    public void start() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        decisionPool.start();
+        if (FoliaScheduler.isFolia()) {
+            return;
+        }
+        long interval = configManager.getDrainInterval();
+        drainTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::drain, interval, interval);
+    }
+
+    /**
+     * Stop the drain task and discard any queued work
+     */
+    public void stop() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        decisionPool.stop();
+        queue.clear();
+        ready.clear();
+        playerPositions.clear();
+        ingested.clear();
+        awaitingObservation.clear();
+        pendingChunks.clear();
+    }
+
+    /**
+     * Queue an entity for scaling once the given delay has elapsed
+     * @param entity The entity to scale
+     * @param delayTicks Minimum number of ticks to wait before scaling
+     * @param debugMessage Message sent to debug players when scaling is applied
+     * @return true if the entity was queued, false if it was already ingested or the queue is full
+     */
+    public boolean enqueue(LivingEntity entity, long delayTicks, String debugMessage) {
+        return enqueue(entity, delayTicks, debugMessage, null, null);
+    }
+
+    /**
+     * Queue a spawned entity for scaling, letting its spawn reason pick a shared decision
+     * @param reason The spawn reason, or null if unknown
+     * @param spawner The spawner block for SPAWNER spawns, or null
+     */
+    public boolean enqueue(LivingEntity entity, long delayTicks, String debugMessage,
+                           CreatureSpawnEvent.SpawnReason reason, Block spawner) {
+        if (!ingested.add(entity.getEntityId())) {
+            totalDuplicates.increment();
+            return false;
+        }
+
+        if (FoliaScheduler.isFolia()) {
+            // The entity's own scheduler runs the task on its region thread
+            PendingScale pending = new PendingScale(entity, 0L, debugMessage, reason, spawner, 0L);
+            FoliaScheduler.runForEntity(plugin, entity, () -> {
+                process(pending);
+                totalProcessed.increment();
+            }, delayTicks);
+            return true;
+        }
+
+        if (getQueueDepth() >= configManager.getMaxQueueSize()) {
+            // Release the slot so a later event or chunk load can try again
+            ingested.remove(entity.getEntityId());
+            totalRejected.increment();
+            return false;
+        }
+
+        queue.add(new PendingScale(entity, Bukkit.getCurrentTick() + delayTicks, debugMessage, reason, spawner, sequence++));
+        peakDepth = Math.max(peakDepth, getQueueDepth());
+        return true;
+    }
+
+    /**
+     * Scale an entity immediately, bypassing the queue
+     * Intended for spawn events that fire before the entity is added to the world,
+     * so the entity is not yet valid and the client receives the scaled size in the spawn packet
+     * @param entity The entity to scale
+     * @param debugMessage Message sent to debug players when scaling is applied
+     * @return true if scaling was applied, false if it was already ingested or not scaled
+     */
+    public boolean applyNow(LivingEntity entity, String debugMessage) {
+        return applyNow(entity, debugMessage, null, null);
+    }
+
+    /**
+     * Scale a spawned entity immediately, letting its spawn reason pick a shared decision
+     * @param reason The spawn reason, or null if unknown
+     * @param spawner The spawner block for SPAWNER spawns, or null
+     */
+    public boolean applyNow(LivingEntity entity, String debugMessage,
+                            CreatureSpawnEvent.SpawnReason reason, Block spawner) {
+        if (!ingested.add(entity.getEntityId())) {
+            totalDuplicates.increment();
+            return false;
+        }
+
+        totalInstant.increment();
+        return applyAndReport(entity, debugMessage, reason, spawner);
+    }
+
+    /**
+     * Record a spawn for the circuit breaker and report whether a spawn storm is in progress
+     * The breaker trips as soon as the current one-second window exceeds spawns-per-second
+     * and resets once a full window falls below half of it
+     * Synchronized because Folia regions spawn concurrently
+     */
+    public synchronized boolean recordSpawn() {
+        if (!configManager.isSpawnStormEnabled()) {
+            stormActive = false;
+            return false;
+        }
+
+        int currentTick = FoliaScheduler.getCurrentTick();
+        int threshold = configManager.getSpawnStormThreshold();
+        if (currentTick - stormWindowStart >= STORM_WINDOW_TICKS) {
+            lastSpawnRate = stormWindowSpawns;
+            stormActive = stormActive ? stormWindowSpawns > threshold / 2 : stormWindowSpawns > threshold;
+            stormWindowStart = currentTick;
+            stormWindowSpawns = 0;
+        }
+
+        if (++stormWindowSpawns > threshold && !stormActive) {
+            stormActive = true;
+            stormTrips++;
+        }
+        return stormActive;
+    }
+
+    /**
+     * Mark an entity spawned during a storm so it is only scaled once a player tracks it
+     * Costs a single set insertion; unobserved entities are never scaled
+     * @return true if the entity was marked, false if it was already ingested
+     */
+    public boolean markPending(LivingEntity entity) {
+        if (!ingested.add(entity.getEntityId())) {
+            totalDuplicates.increment();
+            return false;
+        }
+        awaitingObservation.add(entity.getEntityId());
+        return true;
+    }
+
+    /**
+     * Scale an entity marked during a storm the first time a player starts tracking it
+     * @return true if the entity was awaiting observation and got scaled
+     */
+    public boolean onObserved(LivingEntity entity) {
+        if (!awaitingObservation.remove(entity.getEntityId())) {
+            return false;
+        }
+
+        totalObserved.increment();
+        return applyAndReport(entity, "Applied scaling on first observation", null, null);
+    }
+
+    /**
+     * Queue a loaded chunk so its existing entities are scaled incrementally
+     */
+    public void enqueueChunk(Chunk chunk) {
+        enqueueChunk(chunk, entity -> true);
+    }
+
+    /**
+     * Queue a loaded chunk, scaling only the entities accepted by the filter
+     * Entities that already carry a current scale record are always skipped
+     */
+    public void enqueueChunk(Chunk chunk, Predicate<LivingEntity> filter) {
+        enqueueChunk(chunk.getWorld(), chunk.getChunkKey(), filter);
+    }
+
+    /**
+     * Queue a loaded chunk by its packed key, scaling only the entities accepted by the filter
+     */
+    public void enqueueChunk(World world, long chunkKey, Predicate<LivingEntity> filter) {
+        submitChunk(new PendingChunk(world, chunkKey, filter, false));
+    }
+
+    /**
+     * Queue a loaded chunk whose scaled entities should have their scaling removed
+     */
+    public void enqueueChunkRevert(World world, long chunkKey) {
+        submitChunk(new PendingChunk(world, chunkKey, entity -> true, true));
+    }
+
+    private void submitChunk(PendingChunk pending) {
+        if (FoliaScheduler.isFolia()) {
+            // Each chunk is processed by the region that owns it, in parallel with other regions
+            FoliaScheduler.runAtChunk(plugin, pending.world, pending.chunkX, pending.chunkZ, () -> expandChunk(pending));
+        } else {
+            pendingChunks.addLast(pending);
+        }
+    }
+
+    /**
+     * Expand backlog chunks into entity entries while the queue is at most half full,
+     * so backfill never crowds out fresh spawns
+     */
+    private void expandPendingChunks() {
+        int threshold = configManager.getMaxQueueSize() / 2;
+        while (!pendingChunks.isEmpty() && getQueueDepth() < threshold) {
+            expandChunk(pendingChunks.pollFirst());
+        }
+    }
+
+    /**
+     * Queue, or on Folia directly scale, the entities of one backlog chunk
+     */
+    private void expandChunk(PendingChunk pending) {
+        if (!pending.world.isChunkLoaded(pending.chunkX, pending.chunkZ)) {
+            // Its entities will be offered again by EntitiesLoadEvent when it reloads
+            return;
+        }
+
+        for (org.bukkit.entity.Entity entity : pending.world.getChunkAt(pending.chunkX, pending.chunkZ).getEntities()) {
+            if (!(entity instanceof LivingEntity livingEntity)) {
+                continue;
+            }
+
+            if (pending.revert) {
+                plugin.getMobScaleManager().revertScaling(livingEntity);
+            } else if (!plugin.getMobScaleManager().hasCurrentScale(livingEntity) && pending.filter.test(livingEntity)) {
+                // Rescaling is a fresh scheduling decision, not a duplicate spawn event
+                ingested.remove(livingEntity.getEntityId());
+                awaitingObservation.remove(livingEntity.getEntityId());
+                if (FoliaScheduler.isFolia()) {
+                    // Already on the owning region thread, so scale in place
+                    ingested.add(livingEntity.getEntityId());
+                    applyAndReport(livingEntity, "Applied scaling to existing entity", null, null);
+                    totalProcessed.increment();
+                } else {
+                    enqueue(livingEntity, 0L, "Applied scaling to existing entity");
+                }
+            }
+        }
+    }
+
+    /**
+     * Process ready entries, nearest first, until the per-tick entity cap or time budget is exhausted
+     */
+    private void drain() {
+        expandPendingChunks();
+
+        if (queue.isEmpty() && ready.isEmpty() && !decisionPool.hasCompleted()) {
+            lastDeferred = 0;
+            return;
+        }
+
+        long start = System.nanoTime();
+        budgetController.update();
+        long budget = budgetController.getNanosBudget();
+        int maxEntities = budgetController.getEntityBudget();
+        int currentTick = Bukkit.getCurrentTick();
+        int processed = 0;
+        boolean budgetExhausted = false;
+
+        // Decisions finished by the workers only need their attribute writes. Their entities were
+        // counted against the entity budget when they were submitted, so only time bounds this loop
+        DecisionWorkerPool.ComputedDecision computed;
+        while ((budget <= 0 || System.nanoTime() - start < budget) && (computed = decisionPool.poll()) != null) {
+            applyComputed(computed);
+        }
+
+        promoteReady(currentTick);
+
+        while (!ready.isEmpty()) {
+            if (processed >= maxEntities || (budget > 0 && System.nanoTime() - start >= budget)) {
+                budgetExhausted = true;
+                break;
+            }
+
+            process(ready.poll());
+            processed++;
+        }
+
+        totalProcessed.add(processed);
+        lastDrainNanos = System.nanoTime() - start;
+        lastDeferred = budgetExhausted ? ready.size() : 0;
+        totalDeferred += lastDeferred;
+    }
+
+    /**
+     * Move entries whose delay has elapsed into the priority queue
+     * Player positions are sampled at most once per drain; leftover ready entries
+     * are re-ranked every REPRIORITIZE_INTERVAL ticks as players move
+     */
+    private void promoteReady(int currentTick) {
+        boolean hasNewEntries = !queue.isEmpty() && queue.peek().readyTick <= currentTick;
+        boolean reprioritize = ready.size() > 1 && currentTick - lastReprioritizeTick >= REPRIORITIZE_INTERVAL;
+        if (!hasNewEntries && !reprioritize) {
+            return;
+        }
+
+        boolean prioritize = configManager.isPrioritizeNearPlayers();
+        if (prioritize) {
+            samplePlayerPositions();
+            if (reprioritize) {
+                lastReprioritizeTick = currentTick;
+                PendingScale[] entries = ready.toArray(new PendingScale[0]);
+                ready.clear();
+                for (PendingScale entry : entries) {
+                    entry.priority = nearestPlayerDistanceSquared(entry.entity);
+                    ready.add(entry);
+                }
+            }
+        }
+
+        while (!queue.isEmpty() && queue.peek().readyTick <= currentTick) {
+            PendingScale next = queue.poll();
+            next.priority = prioritize ? nearestPlayerDistanceSquared(next.entity) : 0.0;
+            ready.add(next);
+        }
+    }
+
+    /**
+     * Snapshot online player positions grouped by world
+     * Holders are reused between drains so sampling does not allocate per tick
+     */
+    private void samplePlayerPositions() {
+        for (PlayerPositions positions : playerPositions.values()) {
+            positions.size = 0;
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            playerPositions.computeIfAbsent(player.getWorld().getUID(), id -> new PlayerPositions())
+                .add(player.getX(), player.getY(), player.getZ());
+        }
+    }
+
+    /**
+     * Get the squared distance from an entity to the nearest sampled player in its world
+     */
+    private double nearestPlayerDistanceSquared(LivingEntity entity) {
+        PlayerPositions positions = playerPositions.get(entity.getWorld().getUID());
+        if (positions == null || positions.size == 0) {
+            return Double.MAX_VALUE;
+        }
+
+        double x = entity.getX();
+        double y = entity.getY();
+        double z = entity.getZ();
+        double[] coords = positions.coords;
+        double nearest = Double.MAX_VALUE;
+        for (int i = 0; i < positions.size; i += 3) {
+            double dx = coords[i] - x;
+            double dy = coords[i + 1] - y;
+            double dz = coords[i + 2] - z;
+            nearest = Math.min(nearest, dx * dx + dy * dy + dz * dz);
+        }
+        return nearest;
+    }
+
+    private void process(PendingScale pending) {
+        LivingEntity entity = pending.entity;
+
+        // Double-check entity still exists and is valid
+        if (!entity.isValid() || entity.isDead()) {
+            // Spawn was cancelled or the entity died before scaling; no removal event will clean it up
+            ingested.remove(entity.getEntityId());
+            return;
+        }
+
+        // Regular spawns get their decision computed off the main thread when workers are running;
+        // spawner and group spawns already share a decision, rescales need the full pipeline
+        if (!usesSharedDecision(pending) && !plugin.getMobScaleManager().isScaled(entity)
+            && decisionPool.submit(entity, pending.debugMessage)) {
+            return;
+        }
+
+        applyAndReport(entity, pending.debugMessage, pending.reason, pending.spawner);
+    }
+
+    private boolean usesSharedDecision(PendingScale pending) {
+        if (pending.spawner != null) {
+            return configManager.isSpawnerCacheEnabled();
+        }
+        return configManager.isGroupBatchingEnabled() && (pending.reason == CreatureSpawnEvent.SpawnReason.NATURAL
+            || pending.reason == CreatureSpawnEvent.SpawnReason.CHUNK_GEN);
+    }
+
+    /**
+     * Apply a decision computed by the worker pool
+     */
+    private void applyComputed(DecisionWorkerPool.ComputedDecision computed) {
+        LivingEntity entity = computed.getEntity();
+        if (!entity.isValid() || entity.isDead()) {
+            ingested.remove(entity.getEntityId());
+            return;
+        }
+
+        if (plugin.getMobScaleManager().applyComputedDecision(entity, computed.getDecision())) {
+            reportScaled(entity, computed.getDebugMessage());
+        }
+    }
+
+    private boolean applyAndReport(LivingEntity entity, String debugMessage,
+                                   CreatureSpawnEvent.SpawnReason reason, Block spawner) {
+        if (plugin.getMobScaleManager().applyRealisticScaling(entity, reason, spawner)) {
+            reportScaled(entity, debugMessage);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Send debug messages to admins with debug mode enabled
+     */
+    private void reportScaled(LivingEntity entity, String debugMessage) {
+        double scaleFactor = entity.getAttribute(Attribute.SCALE) != null ?
+            entity.getAttribute(Attribute.SCALE).getValue() : 1.0;
+
+        plugin.getDebugManager().sendScalingDebugMessage(
+            debugMessage,
+            entity.getType().name(),
+            scaleFactor,
+            entity.getLocation()
+        );
+    }
+
+    /**
+     * Check whether an entity has already been queued or scaled during its current lifecycle
+     */
+    public boolean isIngested(LivingEntity entity) {
+        return ingested.contains(entity.getEntityId());
+    }
+
+    /**
+     * Forget an entity when it leaves the world so its ID can be reused
+     * Queued entries for it are discarded by the validity check when drained
+     */
+    public void forget(org.bukkit.entity.Entity entity) {
+        ingested.remove(entity.getEntityId());
+        awaitingObservation.remove(entity.getEntityId());
+    }
+
+    /**
+     * Get the number of entities currently waiting in the queue
+     */
+    public int getQueueDepth() {
+        return queue.size() + ready.size();
+    }
+
+    /**
+     * Get the MSPT-adaptive budget controller
+     */
+    public TickBudgetController getBudgetController() {
+        return budgetController;
+    }
+
+    /**
+     * Get the pool computing scaling decisions off the main thread
+     */
+    public DecisionWorkerPool getDecisionPool() {
+        return decisionPool;
+    }
+
+    /**
+     * Check if the spawn-storm circuit breaker is currently tripped
+     */
+    public boolean isStormActive() {
+        return stormActive;
+    }
+
+    /**
+     * Get the number of spawns seen during the last complete one-second window
+     */
+    public int getLastSpawnRate() {
+        return lastSpawnRate;
+    }
+
+    /**
+     * Get the number of times the circuit breaker has tripped
+     */
+    public long getStormTrips() {
+        return stormTrips;
+    }
+
+    /**
+     * Get the number of storm spawns still waiting for a player to see them
+     */
+    public int getAwaitingObservationCount() {
+        return awaitingObservation.size();
+    }
+
+    /**
+     * Get the number of storm spawns scaled when first tracked by a player
+     */
+    public long getTotalObserved() {
+        return totalObserved.sum();
+    }
+
+    /**
+     * Get the number of loaded chunks waiting to be checked for existing entities
+     */
+    public int getPendingChunkCount() {
+        return pendingChunks.size();
+    }
+
+    /**
+     * Get the number of entities left over when the last drain ran out of budget
+     */
+    public int getLastDeferred() {
+        return lastDeferred;
+    }
+
+    /**
+     * Get the cumulative number of entity-ticks deferred due to budget exhaustion
+     */
+    public long getTotalDeferred() {
+        return totalDeferred;
+    }
+
+    /**
+     * Get the number of entities rejected because the queue was full
+     */
+    public long getTotalRejected() {
+        return totalRejected.sum();
+    }
+
+    /**
+     * Get the number of duplicate submissions ignored for already ingested entities
+     */
+    public long getTotalDuplicates() {
+        return totalDuplicates.sum();
+    }
+
+    /**
+     * Get the number of entities scaled instantly inside their spawn event
+     */
+    public long getTotalInstant() {
+        return totalInstant.sum();
+    }
+
+    /**
+     * Get the total number of entities processed by the drain task
+     */
+    public long getTotalProcessed() {
+        return totalProcessed.sum();
+    }
+
+    /**
+     * Get the highest queue depth observed
+     */
+    public int getPeakDepth() {
+        return peakDepth;
+    }
+
+    /**
+     * Get the wall-clock time spent in the last drain, in nanoseconds
+     */
+    public long getLastDrainNanos() {
+        return lastDrainNanos;
+    }
+
+    /**
+     * Loaded chunk waiting to be expanded into entity entries
+     */
+    private static class PendingChunk {
+        private final World world;
+        private final int chunkX;
+        private final int chunkZ;
+        private final Predicate<LivingEntity> filter;
+        private final boolean revert;
+
+        private PendingChunk(World world, long chunkKey, Predicate<LivingEntity> filter, boolean revert) {
+            this.world = world;
+            this.chunkX = (int) chunkKey;
+            this.chunkZ = (int) (chunkKey >> 32);
+            this.filter = filter;
+            this.revert = revert;
+        }
+    }
+
+    /**
+     * Flattened x, y, z coordinates of the players in one world
+     */
+    private static class PlayerPositions {
+        private double[] coords = new double[12];
+        private int size;
+
+        private void add(double x, double y, double z) {
+            if (size + 3 > coords.length) {
+                coords = Arrays.copyOf(coords, coords.length * 2);
+            }
+            coords[size++] = x;
+            coords[size++] = y;
+            coords[size++] = z;
+        }
+    }
+
+    /**
+     * Queued scaling operation
+     * Ordered by squared distance to the nearest player, then by submission order
+     */
+    private static class PendingScale implements Comparable<PendingScale> {
+        private final LivingEntity entity;
+        private final long readyTick;
+        private final String debugMessage;
+        private final CreatureSpawnEvent.SpawnReason reason;
+        private final Block spawner;
+        private final long sequence;
+        private double priority;
+
+        private PendingScale(LivingEntity entity, long readyTick, String debugMessage,
+                             CreatureSpawnEvent.SpawnReason reason, Block spawner, long sequence) {
+            this.entity = entity;
+            this.readyTick = readyTick;
+            this.debugMessage = debugMessage;
+            this.reason = reason;
+            this.spawner = spawner;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(PendingScale other) {
+            int byDistance = Double.compare(priority, other.priority);
+            return byDistance != 0 ? byDistance : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.minekarta.realMobScale.managers;
+
+/**
+ * How spawns of one CreatureSpawnEvent.SpawnReason are scaled
+ * Compiled from settings.spawn-reasons once per reload, so the spawn path is a single table lookup
+ */
+public class SpawnPolicy {
+
+    public enum Mode {
+        // Never scale; the spawn costs nothing beyond the lookup
+        SKIP,
+        // Scale inside the spawn event, before clients see the entity
+        EAGER,
+        // Queue scaling after a delay
+        DELAYED,
+        // Scale when a player first tracks the entity
+        LAZY
+    }
+
+    private final Mode mode;
+    private final long delayTicks;
+    private final double sampleRate;
+    // Sample rate as a threshold on a 16-bit hash, precomputed for the spawn path
+    private final int sampleThreshold;
+
+    public SpawnPolicy(Mode mode, long delayTicks, double sampleRate) {
+        this.mode = mode;
+        this.delayTicks = Math.max(0L, delayTicks);
+        this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+        this.sampleThreshold = (int) Math.round(this.sampleRate * 0x10000);
+    }
+
+    /**
+     * Check if an entity falls into the sampled fraction of spawns
+     * Derived from the entity ID, so repeated checks for one entity agree
+     */
+    public boolean isSampled(int entityId) {
+        if (sampleThreshold >= 0x10000) {
+            return true;
+        }
+        // Mix the ID bits so consecutive IDs do not form runs
+        int hash = entityId * 0x9E3779B9;
+        return ((hash >>> 16) & 0xFFFF) < sampleThreshold;
+    }
+
+    public Mode getMode() { return mode; }
+    public long getDelayTicks() { return delayTicks; }
+    public double getSampleRate() { return sampleRate; }
+
+    @Override
+    public String toString() {
+        String name = mode == Mode.DELAYED ? "delayed(" + delayTicks + ")" : mode.name().toLowerCase();
+        return sampleRate < 1.0 ? name + " @" + sampleRate : name;
+    }
+}
@@ -0,0 +1,113 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.EntityType;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoized scaling decisions per spawner block
+ * A spawner keeps producing the same type in the same biome and world, so the final scale
+ * and attribute multipliers are computed once and reused for every later spawn
+ *
+ * Decisions are validated against the entity type and configuration generation on lookup,
+ * cleared on reload and dropped when the spawner block is broken or exploded
+ * Maps are concurrent so spawners in different Folia regions can share the cache
+ */
+public class SpawnerDecisionCache {
+    // Spawners tracked before the cache is reset, guards against unbounded growth
+    private static final int MAX_SPAWNERS = 4096;
+
+    private final ConfigManager configManager;
+    // World UID -> packed block position -> decisions for adult [0] and baby [1] spawns
+    private final Map<UUID, Map<Long, ScaleDecision[]>> decisions;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SpawnerDecisionCache(ConfigManager configManager) {
+        this.configManager = configManager;
+        this.decisions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the cached decision for a spawner, or null if none is current
+     */
+    public ScaleDecision get(Block spawner, EntityType type, boolean baby, int generation) {
+        Map<Long, ScaleDecision[]> worldDecisions = decisions.get(spawner.getWorld().getUID());
+        ScaleDecision[] slots = worldDecisions != null ? worldDecisions.get(spawner.getBlockKey()) : null;
+        ScaleDecision decision = slots != null ? slots[baby ? 1 : 0] : null;
+        if (decision != null && decision.matches(type, baby, generation)) {
+            hits.increment();
+            return decision;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Store a freshly computed decision for a spawner
+     */
+    public void put(Block spawner, ScaleDecision decision) {
+        if (!configManager.isSpawnerCacheEnabled()) {
+            return;
+        }
+
+        if (size.get() >= MAX_SPAWNERS) {
+            clear();
+        }
+
+        ScaleDecision[] slots = decisions.computeIfAbsent(spawner.getWorld().getUID(), id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(spawner.getBlockKey(), key -> {
+                size.incrementAndGet();
+                return new ScaleDecision[2];
+            });
+        slots[decision.isBaby() ? 1 : 0] = decision;
+    }
+
+    /**
+     * Forget the decisions of a spawner block that changed
+     */
+    public void invalidate(Block spawner) {
+        Map<Long, ScaleDecision[]> worldDecisions = decisions.get(spawner.getWorld().getUID());
+        if (worldDecisions != null && worldDecisions.remove(spawner.getBlockKey()) != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Forget all decisions for an unloaded world
+     */
+    public void clearWorld(World world) {
+        Map<Long, ScaleDecision[]> removed = decisions.remove(world.getUID());
+        if (removed != null) {
+            size.addAndGet(-removed.size());
+        }
+    }
+
+    /**
+     * Forget every cached decision, e.g. after a configuration reload
+     */
+    public void clear() {
+        decisions.clear();
+        size.set(0);
+    }
+
+    public int getSize() {
+        return size.get();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
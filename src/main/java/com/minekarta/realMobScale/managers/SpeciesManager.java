@@ -0,0 +1,161 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+import com.minekarta.realMobScale.RealMobScale;
+import com.minekarta.realMobScale.data.MobData;
+import com.minekarta.realMobScale.data.ScaleProfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads the species profiles from species.yml into {@link MobData}
+ * The bundled file provides the defaults; entries in the plugin folder's copy override them
+ * per species. Profiles are compiled into an array indexed by EntityType ordinal, with their
+ * health and damage multipliers computed once at load
+ */
+public class SpeciesManager {
+    private static final String FILE = "species.yml";
+
+    private final RealMobScale plugin;
+    private final File speciesFile;
+
+    public SpeciesManager(RealMobScale plugin) {
+        this.plugin = plugin;
+        this.speciesFile = new File(plugin.getDataFolder(), FILE);
+        reloadSpecies();
+    }
+
+    /**
+     * Reload species.yml synchronously
+     */
+    public void reloadSpecies() {
+        ValidationReport report = new ValidationReport();
+        Prepared prepared = prepare(report);
+        report.log(plugin.getLogger());
+        publish(prepared);
+    }
+
+    /**
+     * Read, parse and validate the bundled and user species files without touching the live profiles
+     * Safe to call from any thread
+     */
+    Prepared prepare(ValidationReport report) {
+        if (!speciesFile.exists()) {
+            plugin.saveResource(FILE, false);
+        }
+
+        ScaleProfile[] profiles = new ScaleProfile[EntityType.values().length];
+        YamlConfiguration bundled = new YamlConfiguration();
+        try (InputStream stream = plugin.getResource(FILE)) {
+            if (stream != null) {
+                try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                    bundled.load(reader);
+                }
+            }
+        } catch (IOException | InvalidConfigurationException e) {
+            report.error(FILE, "(bundled)", "could not be parsed: " + e.getMessage());
+        }
+        parseProfiles(bundled, profiles, report);
+
+        YamlConfiguration user = new YamlConfiguration();
+        try {
+            user.load(speciesFile);
+        } catch (IOException | InvalidConfigurationException e) {
+            report.error(FILE, "(file)", "could not be parsed: " + e.getMessage());
+        }
+        parseProfiles(user, profiles, report);
+
+        return new Prepared(profiles);
+    }
+
+    /**
+     * Make prepared profiles live (main thread only)
+     * The compiled configuration must be rebuilt afterwards, since its type table holds the profiles
+     */
+    void publish(Prepared prepared) {
+        MobData.setProfiles(prepared.profiles);
+        plugin.getLogger().info("Loaded " + MobData.getProfileCount() + " species profiles");
+    }
+
+    /**
+     * Parse the species section of a file over the profiles parsed so far
+     */
+    private static void parseProfiles(YamlConfiguration file, ScaleProfile[] profiles, ValidationReport report) {
+        ConfigurationSection species = file.getConfigurationSection("species");
+        if (species == null) {
+            return;
+        }
+
+        for (String name : species.getKeys(false)) {
+            String path = "species." + name;
+            EntityType type;
+            try {
+                type = EntityType.valueOf(name.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                report.warn(FILE, path, "unknown entity type, ignored");
+                continue;
+            }
+            if (!type.isAlive()) {
+                report.warn(FILE, path, type.name() + " is not a living entity, ignored");
+                continue;
+            }
+
+            ConfigurationSection entry = species.getConfigurationSection(name);
+            if (entry == null) {
+                report.warn(FILE, path, "expected height, scale and speed, ignored");
+                continue;
+            }
+            if (!entry.getBoolean("enabled", true)) {
+                profiles[type.ordinal()] = null;
+                continue;
+            }
+
+            double height = getPositive(entry, "height", report);
+            double scale = getPositive(entry, "scale", report);
+            double speed = getPositive(entry, "speed", report);
+            if (height <= 0 || scale <= 0 || speed <= 0) {
+                continue;
+            }
+
+            String description = entry.getString("description", "Custom creature");
+            profiles[type.ordinal()] = new ScaleProfile(height, scale, speed, description);
+        }
+    }
+
+    /**
+     * Read a required positive number, reporting missing or invalid values
+     * @return the value, or -1 if it is missing or invalid
+     */
+    private static double getPositive(ConfigurationSection entry, String key, ValidationReport report) {
+        Object value = entry.get(key);
+        if (!(value instanceof Number number) || number.doubleValue() <= 0) {
+            report.warn(FILE, entry.getCurrentPath() + "." + key,
+                (value == null ? "missing" : "'" + value + "' is not a positive number") + ", entry ignored");
+            return -1;
+        }
+        return number.doubleValue();
+    }
+
+    /**
+     * Parsed and validated species profiles, not yet live
+     */
+    static final class Prepared {
+        private final ScaleProfile[] profiles;
+
+        private Prepared(ScaleProfile[] profiles) {
+            this.profiles = profiles;
+        }
+
+        ScaleProfile[] getProfiles() {
+            return profiles;
+        }
+    }
+}
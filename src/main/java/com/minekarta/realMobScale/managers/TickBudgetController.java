@@ -0,0 +1,97 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.Bukkit;
+
+/**
+ * Adapts the scaling queue's per-tick budget to server health
+ * Shrinks the budget while MSPT is above the target and grows it back while the
+ * server has headroom. Work that does not fit is deferred by the queue, never dropped
+ */
+public class TickBudgetController {
+    private final ConfigManager configManager;
+    private double budgetFactor = 1.0;
+    private double lastAverageMspt;
+    private double lastTickMspt;
+    private long shrinkCount;
+    private long growCount;
+
+    public TickBudgetController(ConfigManager configManager) {
+        this.configManager = configManager;
+    }
+
+    /**
+     * Sample Paper's tick timings and adjust the budget factor
+     * Called once per queue drain
+     */
+    public void update() {
+        if (!configManager.isAdaptiveBudgetEnabled()) {
+            budgetFactor = 1.0;
+            return;
+        }
+
+        lastAverageMspt = Bukkit.getAverageTickTime();
+        long[] tickTimes = Bukkit.getTickTimes();
+        if (tickTimes.length > 0) {
+            // Paper records each tick at index tickCount % length; the previous tick is the latest complete one
+            int index = Math.floorMod(Bukkit.getCurrentTick() - 1, tickTimes.length);
+            lastTickMspt = tickTimes[index] / 1_000_000.0;
+        }
+
+        double target = configManager.getAdaptiveTargetMspt();
+        double minFactor = configManager.getAdaptiveMinBudgetFactor();
+
+        if (lastAverageMspt > target || lastTickMspt > target * 1.5) {
+            // Server is lagging or just spiked: back off quickly
+            double shrunk = Math.max(minFactor, budgetFactor * configManager.getAdaptiveShrinkFactor());
+            if (shrunk < budgetFactor) {
+                budgetFactor = shrunk;
+                shrinkCount++;
+            }
+        } else if (lastAverageMspt < configManager.getAdaptiveRecoverMspt() && lastTickMspt < target) {
+            // Headroom available: recover gradually
+            double grown = Math.min(1.0, budgetFactor * configManager.getAdaptiveGrowFactor());
+            if (grown > budgetFactor) {
+                budgetFactor = grown;
+                growCount++;
+            }
+        }
+    }
+
+    /**
+     * Get the maximum entities to process this drain, never below one so the queue keeps moving
+     */
+    public int getEntityBudget() {
+        return Math.max(1, (int) Math.round(configManager.getMaxProcessingPerTick() * budgetFactor));
+    }
+
+    /**
+     * Get the wall-clock budget for this drain in nanoseconds (0 = no time limit)
+     */
+    public long getNanosBudget() {
+        long base = configManager.getMaxProcessingNanosPerTick();
+        return base > 0 ? Math.max(1L, (long) (base * budgetFactor)) : 0L;
+    }
+
+    /**
+     * Get the current fraction of the configured budget in use (0-1)
+     */
+    public double getBudgetFactor() {
+        return budgetFactor;
+    }
+
+    public double getLastAverageMspt() {
+        return lastAverageMspt;
+    }
+
+    public double getLastTickMspt() {
+        return lastTickMspt;
+    }
+
+    public long getShrinkCount() {
+        return shrinkCount;
+    }
+
+    public long getGrowCount() {
+        return growCount;
+    }
+}
@@ -0,0 +1,121 @@
+package com.minekarta.realMobScale.managers;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Problems found while parsing and validating the configuration files
+ * Warnings are corrected (clamped or ignored) and published; any error keeps the previous
+ * configuration in place. Filled by one loader thread and read once it is handed over
+ */
+public class ValidationReport {
+
+    public enum Severity {
+        WARNING,
+        ERROR
+    }
+
+    private final List<Issue> issues = new ArrayList<>();
+    private int errorCount;
+
+    /**
+     * Record a problem that was corrected
+     */
+    public void warn(String file, String path, String message) {
+        issues.add(new Issue(Severity.WARNING, file, path, message));
+    }
+
+    /**
+     * Record a problem that prevents the file from being published
+     */
+    public void error(String file, String path, String message) {
+        issues.add(new Issue(Severity.ERROR, file, path, message));
+        errorCount++;
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    public boolean isEmpty() {
+        return issues.isEmpty();
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public int getWarningCount() {
+        return issues.size() - errorCount;
+    }
+
+    public List<Issue> getIssues() {
+        return Collections.unmodifiableList(issues);
+    }
+
+    /**
+     * Write every issue to the plugin log
+     */
+    public void log(Logger logger) {
+        for (Issue issue : issues) {
+            if (issue.getSeverity() == Severity.ERROR) {
+                logger.severe(issue.toString());
+            } else {
+                logger.warning(issue.toString());
+            }
+        }
+    }
+
+    /**
+     * Send a summary and the first issues to a command sender
+     * @param limit Maximum number of issues listed
+     */
+    public void sendTo(CommandSender sender, int limit) {
+        if (issues.isEmpty()) {
+            sender.sendMessage("§7Validation: §ano problems found");
+            return;
+        }
+
+        sender.sendMessage("§7Validation: §c" + errorCount + " errors§7, §e" + getWarningCount() + " warnings");
+        int shown = 0;
+        for (Issue issue : issues) {
+            if (shown++ >= limit) {
+                sender.sendMessage("§7... and " + (issues.size() - limit) + " more, see the console");
+                break;
+            }
+            String color = issue.getSeverity() == Severity.ERROR ? "§c" : "§e";
+            sender.sendMessage(color + issue.getFile() + " §7" + issue.getPath() + ": §f" + issue.getMessage());
+        }
+    }
+
+    /**
+     * One problem at one config path
+     */
+    public static class Issue {
+        private final Severity severity;
+        private final String file;
+        private final String path;
+        private final String message;
+
+        private Issue(Severity severity, String file, String path, String message) {
+            this.severity = severity;
+            this.file = file;
+            this.path = path;
+            this.message = message;
+        }
+
+        public Severity getSeverity() { return severity; }
+        public String getFile() { return file; }
+        public String getPath() { return path; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return file + " " + path + ": " + message;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.bukkit.entity.Player;
 import com.minekarta.realMobScale.RealMobScale;
 import com.minekarta.realMobScale.data.MobData;
 import com.minekarta.realMobScale.data.ScaleProfile;
+import com.minekarta.realMobScale.utils.FoliaScheduler;
 
 /**
  * Handles entity spawn packets to ensure proper scaling is applied immediately on spawn
@@ -51,6 +52,11 @@ public class EntitySpawnPacketHandler extends PacketListenerAbstract {
                 return;
             }
 
+            // Folia forbids scanning other regions' entities; spawn-time scaling already covers them
+            if (FoliaScheduler.isFolia()) {
+                return;
+            }
+
             // Get the entity from the server to check if it should be scaled
             LivingEntity livingEntity = null;
             for (org.bukkit.World world : plugin.getServer().getWorlds()) {
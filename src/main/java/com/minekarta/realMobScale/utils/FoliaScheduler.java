@@ -0,0 +1,86 @@
+package com.minekarta.realMobScale.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Utility class for scheduling on Paper and Folia alike
+ * On Folia entities and chunks may only be touched from the region thread that owns them,
+ * so work is dispatched through the entity and region schedulers instead of the Bukkit scheduler
+ */
+public class FoliaScheduler {
+
+    private static final boolean FOLIA = detectFolia();
+
+    private static boolean detectFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Check if the server runs Folia's regionised multithreading
+     */
+    public static boolean isFolia() {
+        return FOLIA;
+    }
+
+    /**
+     * Run a task on the thread that owns an entity
+     * The task is dropped if the entity is removed before it runs
+     * @param delayTicks Ticks to wait; on Folia at least one
+     */
+    public static void runForEntity(Plugin plugin, Entity entity, Runnable task, long delayTicks) {
+        if (FOLIA) {
+            entity.getScheduler().execute(plugin, task, null, Math.max(1L, delayTicks));
+        } else {
+            Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+        }
+    }
+
+    /**
+     * Run a task on the thread that owns a chunk
+     */
+    public static void runAtChunk(Plugin plugin, World world, int chunkX, int chunkZ, Runnable task) {
+        if (FOLIA) {
+            Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, task);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Run a task on a background thread
+     */
+    public static void runAsync(Plugin plugin, Runnable task) {
+        if (FOLIA) {
+            Bukkit.getAsyncScheduler().runNow(plugin, scheduledTask -> task.run());
+        } else {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+        }
+    }
+
+    /**
+     * Run a task on the main thread, or on Folia's global region thread
+     */
+    public static void runGlobal(Plugin plugin, Runnable task) {
+        if (FOLIA) {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Get a tick counter usable from any thread
+     * Folia has no single server tick, so 50ms wall-clock slices stand in for it
+     */
+    public static int getCurrentTick() {
+        return FOLIA ? (int) (System.nanoTime() / 50_000_000L) : Bukkit.getCurrentTick();
+    }
+}